@@ -0,0 +1,101 @@
+package net.alexxiconify.alexxAutoWarn.benchmarks;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import sun.misc.Unsafe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sets up an AlexxAutoWarn instance outside of a server, so the benchmarks drive the real managers and listener.
+ * <p>
+ * JavaPlugin refuses to be constructed without a plugin class loader, so the instance is allocated without
+ * running its constructor, and the few JavaPlugin fields the plugin reads on these paths (name, logger, config) are
+ * filled in reflectively. Everything else is set up through the plugin's own benchmark hook, so it follows the plugin
+ * as it changes. Settings come from the bundled config.yml. CoreProtect and the audit log stay disabled,
+ * so the measurements cover the plugin's own work.
+ */
+final class BenchmarkPlugin {
+
+ private final AlexxAutoWarn plugin;
+
+ private BenchmarkPlugin(AlexxAutoWarn plugin) {
+  this.plugin = plugin;
+ }
+
+ /**
+  * @param indexType   The spatial index to load zones into.
+  * @param alertWindow The alert aggregation window in seconds; 0 processes every action in full.
+  */
+ static BenchmarkPlugin create(ZoneIndex.Type indexType, double alertWindow) {
+  try {
+   YamlConfiguration config;
+   try (InputStream in = AlexxAutoWarn.class.getResourceAsStream("/config.yml")) {
+    if (in == null) {
+     throw new IllegalStateException("config.yml is missing from the plugin jar.");
+    }
+    try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+     config = YamlConfiguration.loadConfiguration(reader);
+    }
+   }
+   config.set("settings.zone-index", indexType.name());
+   config.set("settings.alert-aggregation.window-seconds", alertWindow);
+   config.set("audit-log.enabled", false);
+
+   Logger logger = Logger.getLogger("AlexxAutoWarn-Benchmark");
+   logger.setLevel(Level.WARNING); // Keep the benchmark output readable
+   PluginDescriptionFile description = new PluginDescriptionFile("AlexxAutoWarn", "benchmark", AlexxAutoWarn.class.getName());
+
+   AlexxAutoWarn plugin = (AlexxAutoWarn) unsafe().allocateInstance(AlexxAutoWarn.class);
+   for (Field field : JavaPlugin.class.getDeclaredFields()) {
+    if (Modifier.isStatic(field.getModifiers())) {
+     continue;
+    }
+    // Matched by type, as the field names differ between Bukkit and Paper
+    Object value = field.getType().isInstance(description) ? description
+            : field.getType().isInstance(logger) ? logger
+            : field.getType().isInstance(config) ? config
+            : null;
+    if (value != null) {
+     field.setAccessible(true);
+     field.set(plugin, value);
+    }
+   }
+
+   plugin.setUpForBenchmarks();
+   return new BenchmarkPlugin(plugin);
+  } catch (IOException | ReflectiveOperationException e) {
+   throw new IllegalStateException("Could not set up the plugin for benchmarking.", e);
+  }
+ }
+
+ AlexxAutoWarn plugin() {
+  return plugin;
+ }
+
+ /**
+  * Publishes zones the way a completed load does, in one bulk index build.
+  */
+ void publish(Collection<Zone> zones) {
+  plugin.getZoneManager().publishZones(zones);
+ }
+
+ private static Unsafe unsafe() throws ReflectiveOperationException {
+  Field field = Unsafe.class.getDeclaredField("theUnsafe");
+  field.setAccessible(true);
+  return (Unsafe) field.get(null);
+ }
+}
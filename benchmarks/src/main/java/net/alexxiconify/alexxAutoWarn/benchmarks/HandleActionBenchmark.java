@@ -0,0 +1,117 @@
+package net.alexxiconify.alexxAutoWarn.benchmarks;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.commands.AutoWarnCommand;
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.listeners.ZoneListener;
+import net.alexxiconify.alexxAutoWarn.managers.ZoneManager;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a block placement end to end, from {@link ZoneListener#onBlockPlace(BlockPlaceEvent)} through the
+ * relevance filter, bypass check, zone lookup and rule table to the player message or staff alert, against stubbed
+ * Bukkit objects. Alert aggregation is disabled, so every DENY and ALERT is processed in full.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandleActionBenchmark {
+
+ private static final int EVENTS = 1024; // Power of two, so the cursor wraps with a mask
+ private static final int MAX_ATTEMPTS = 1_000_000;
+
+ /**
+  * What the placed blocks run into.
+  */
+ public enum Scenario {
+  IGNORED, // A material no zone restricts, dropped by the relevance filter
+  OUTSIDE, // A restricted material outside every zone
+  ALERT,   // Inside a zone, alerting staff
+  DENY     // Inside a zone, cancelled with a message to the player
+ }
+
+ @Param({"10", "1000", "10000", "100000"})
+ public int zones;
+
+ @Param({"UNIFORM", "CLUSTERED"})
+ public SyntheticZones.Layout layout;
+
+ @Param({"IGNORED", "OUTSIDE", "ALERT", "DENY"})
+ public Scenario scenario;
+
+ private ZoneListener listener;
+ private final BlockPlaceEvent[] events = new BlockPlaceEvent[EVENTS];
+ private int cursor;
+
+ @Setup
+ public void setup() {
+  BenchmarkPlugin benchmarkPlugin = BenchmarkPlugin.create(ZoneIndex.Type.CHUNK, 0);
+  AlexxAutoWarn plugin = benchmarkPlugin.plugin();
+  ZoneManager zoneManager = plugin.getZoneManager();
+  World world = Stubs.world("world");
+  SyntheticZones generator = new SyntheticZones(zones, layout);
+  List<Zone> created = generator.create(zoneManager, world, zones);
+  benchmarkPlugin.publish(created);
+
+  // The acting player is also the only staff member receiving alerts
+  Player player = Stubs.player("Steve", Set.of("autowarn.notify"));
+  plugin.getSessionManager().open(player);
+  listener = new ZoneListener(plugin, new AutoWarnCommand(plugin));
+
+  Material material = switch (scenario) {
+   case IGNORED -> SyntheticZones.UNRESTRICTED;
+   case ALERT -> SyntheticZones.ALERTED;
+   case OUTSIDE, DENY -> SyntheticZones.DENIED;
+  };
+  for (int i = 0; i < EVENTS; i++) {
+   int[] point = switch (scenario) {
+    case IGNORED -> generator.pointNearby();
+    case OUTSIDE -> outsideAllZones(generator, zoneManager, world);
+    case ALERT, DENY -> generator.pointIn(created.get(generator.nextInt(created.size())));
+   };
+   Block block = Stubs.block(world, point[0], point[1], point[2], material);
+   events[i] = new BlockPlaceEvent(block, null, block, null, player, true, EquipmentSlot.HAND);
+  }
+ }
+
+ @Benchmark
+ public boolean onBlockPlace() {
+  BlockPlaceEvent event = events[cursor++ & (EVENTS - 1)];
+  listener.onBlockPlace(event);
+  return event.isCancelled();
+ }
+
+ private static int[] outsideAllZones(SyntheticZones generator, ZoneManager zoneManager, World world) {
+  for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+   int[] point = generator.pointNearby();
+   if (zoneManager.getZoneAt(world.getUID(), point[0], point[1], point[2]) == null) {
+    return point;
+   }
+  }
+  throw new IllegalStateException("Could not find a point outside every zone.");
+ }
+}
@@ -0,0 +1,95 @@
+package net.alexxiconify.alexxAutoWarn.benchmarks;
+
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.utils.MessageTemplate;
+import net.alexxiconify.alexxAutoWarn.utils.Settings;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the alert message by re-parsing the MiniMessage string on every call
+ * (the former Settings.getMessage behaviour) with rendering a precompiled MessageTemplate,
+ * and measures the full {@link Settings#getMessage(String, String...)} call on the bundled config.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageRenderBenchmark {
+
+ private static final String PREFIX = "<gray>[<#FFA500>AutoWarn</#FFA500>]</gray> ";
+ private static final String ALERT = "<yellow>Alert! <player> used <material> in zone <zone> at <location>.";
+ private static final String NO_PERMISSION = "<red>You do not have permission to use this command.";
+
+ private MiniMessage miniMessage;
+ private Component prefix;
+ private MessageTemplate alertTemplate;
+ private MessageTemplate noPermissionTemplate;
+ private Settings settings;
+
+ @Setup
+ public void setup() {
+  miniMessage = MiniMessage.miniMessage();
+  prefix = miniMessage.deserialize(PREFIX);
+  alertTemplate = MessageTemplate.compile(ALERT, prefix);
+  noPermissionTemplate = MessageTemplate.compile(NO_PERMISSION, prefix);
+  settings = BenchmarkPlugin.create(ZoneIndex.Type.CHUNK, 0).plugin().getSettings();
+ }
+
+ @Benchmark
+ public Component alertReparse() {
+  return prefix.append(miniMessage.deserialize(ALERT,
+          Placeholder.unparsed("player", "Steve"),
+          Placeholder.unparsed("material", "tnt"),
+          Placeholder.unparsed("zone", "spawn"),
+          Placeholder.unparsed("location", "world: 12, 64, -30")));
+ }
+
+ @Benchmark
+ public Component alertTemplate() {
+  return alertTemplate.render(
+          "player", "Steve",
+          "material", "tnt",
+          "zone", "spawn",
+          "location", "world: 12, 64, -30");
+ }
+
+ @Benchmark
+ public Component staticReparse() {
+  return prefix.append(miniMessage.deserialize(NO_PERMISSION));
+ }
+
+ @Benchmark
+ public Component staticTemplate() {
+  return noPermissionTemplate.render();
+ }
+
+ @Benchmark
+ public Component settingsAlert() {
+  return settings.getMessage("action.alert",
+          "player", "Steve",
+          "material", "tnt",
+          "zone", "spawn",
+          "location", "world: 12, 64, -30");
+ }
+
+ @Benchmark
+ public Component settingsStatic() {
+  return settings.getMessage("error.no-permission");
+ }
+}
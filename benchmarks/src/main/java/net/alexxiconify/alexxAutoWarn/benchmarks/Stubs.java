@@ -0,0 +1,111 @@
+package net.alexxiconify.alexxAutoWarn.benchmarks;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stand-ins for the Bukkit objects the plugin touches, built with {@link Proxy} so no server or mocking library is needed.
+ * Every method without an explicit answer returns null, false or zero, and void methods (such as sendMessage) do nothing.
+ */
+final class Stubs {
+
+ private Stubs() {
+ }
+
+ /**
+  * Computes the result of a stubbed method from its arguments.
+  */
+ @FunctionalInterface
+ interface Answer {
+  Object answer(Object[] args);
+ }
+
+ /**
+  * Creates a stub of an interface.
+  *
+  * @param type    The interface to implement.
+  * @param answers Results by method name: either a fixed value or an {@link Answer}.
+  * @return The stub.
+  */
+ static <T> T stub(Class<T> type, Map<String, Object> answers) {
+  return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+   Object answer = answers.get(method.getName());
+   if (answer instanceof Answer computed) {
+    return computed.answer(args);
+   }
+   if (answer != null) {
+    return answer;
+   }
+   return switch (method.getName()) {
+    case "equals" -> proxy == args[0];
+    case "hashCode" -> System.identityHashCode(proxy);
+    case "toString" -> type.getSimpleName() + " stub";
+    default -> defaultValue(method.getReturnType());
+   };
+  }));
+ }
+
+ static World world(String name) {
+  UUID id = UUID.nameUUIDFromBytes(name.getBytes());
+  return stub(World.class, Map.of("getName", name, "getUID", id));
+ }
+
+ /**
+  * @param permissions The permissions the player has; every other check fails.
+  */
+ static Player player(String name, Set<String> permissions) {
+  PersistentDataContainer data = stub(PersistentDataContainer.class, Map.of());
+  return stub(Player.class, Map.of(
+          "getName", name,
+          "getUniqueId", UUID.nameUUIDFromBytes(name.getBytes()),
+          "getPersistentDataContainer", data,
+          "hasPermission", (Answer) args -> permissions.contains(String.valueOf(args[0]))));
+ }
+
+ static Block block(World world, int x, int y, int z, Material type) {
+  return stub(Block.class, Map.of(
+          "getWorld", world,
+          "getX", x,
+          "getY", y,
+          "getZ", z,
+          "getType", type,
+          "getLocation", (Answer) args -> new Location(world, x, y, z))); // A fresh Location per call, as on a server
+ }
+
+ private static Object defaultValue(Class<?> type) {
+  if (!type.isPrimitive() || type == void.class) {
+   return null;
+  }
+  if (type == boolean.class) {
+   return false;
+  }
+  if (type == char.class) {
+   return '\0';
+  }
+  if (type == long.class) {
+   return 0L;
+  }
+  if (type == float.class) {
+   return 0F;
+  }
+  if (type == double.class) {
+   return 0D;
+  }
+  if (type == byte.class) {
+   return (byte) 0;
+  }
+  if (type == short.class) {
+   return (short) 0;
+  }
+  return 0;
+ }
+}
@@ -0,0 +1,123 @@
+package net.alexxiconify.alexxAutoWarn.benchmarks;
+
+import net.alexxiconify.alexxAutoWarn.managers.ZoneManager;
+import net.alexxiconify.alexxAutoWarn.objects.RuleSet;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible zone sets for the benchmarks.
+ * <p>
+ * Every zone denies {@link #DENIED}, alerts on {@link #ALERTED} and allows everything else by default,
+ * plus one of a few extra rules, so the set shares a handful of rule sets like a real server would.
+ */
+final class SyntheticZones {
+
+ static final Material DENIED = Material.TNT;
+ static final Material ALERTED = Material.HOPPER;
+ static final Material UNRESTRICTED = Material.DIRT;
+
+ private static final long SEED = 0x5EED_2024L;
+ private static final int CELL = 64; // Uniform layouts get roughly one zone per 64x64 column area
+ private static final int ZONES_PER_CLUSTER = 500;
+ private static final Material[] EXTRA_RULES = {Material.LAVA, Material.WATER, Material.CHEST, Material.BARREL};
+
+ /**
+  * How zones are spread over the world.
+  */
+ enum Layout {
+  UNIFORM,  // Evenly spread, few overlaps
+  CLUSTERED // Packed around a few hot spots, like builds around spawn and towns, with many overlaps
+ }
+
+ private final Layout layout;
+ private final int extent; // Zones and query points lie in [-extent, extent] on X and Z
+ private final int[][] clusters;
+ private final SplittableRandom random = new SplittableRandom(SEED);
+
+ SyntheticZones(int count, Layout layout) {
+  this.layout = layout;
+  this.extent = Math.max(256, (int) Math.sqrt(count) * CELL / 2);
+  int clusterCount = Math.max(1, count / ZONES_PER_CLUSTER);
+  this.clusters = new int[clusterCount][];
+  for (int i = 0; i < clusterCount; i++) {
+   clusters[i] = new int[]{coordinate(), coordinate()};
+  }
+ }
+
+ /**
+  * Creates the zones, interning their rules through the zone manager.
+  */
+ List<Zone> create(ZoneManager zoneManager, World world, int count) {
+  RuleSet[] ruleSets = new RuleSet[EXTRA_RULES.length];
+  for (int i = 0; i < ruleSets.length; i++) {
+   Map<Material, Zone.Action> rules = new EnumMap<>(Material.class);
+   rules.put(DENIED, Zone.Action.DENY);
+   rules.put(ALERTED, Zone.Action.ALERT);
+   rules.put(EXTRA_RULES[i], i % 2 == 0 ? Zone.Action.DENY : Zone.Action.ALERT);
+   ruleSets[i] = zoneManager.internRules(Zone.Action.ALLOW, rules);
+  }
+
+  List<Zone> zones = new ArrayList<>(count);
+  for (int i = 0; i < count; i++) {
+   int x, z, width, depth;
+   if (layout == Layout.UNIFORM) {
+    x = coordinate();
+    z = coordinate();
+    width = random.nextInt(8, 41);
+    depth = random.nextInt(8, 41);
+   } else {
+    int[] center = clusters[random.nextInt(clusters.length)];
+    x = center[0] + (int) (random.nextDouble(-1, 1) * random.nextDouble(0, 256)); // Denser towards the center
+    z = center[1] + (int) (random.nextDouble(-1, 1) * random.nextDouble(0, 256));
+    width = random.nextInt(4, 25);
+    depth = random.nextInt(4, 25);
+   }
+   int y = random.nextInt(-64, 200);
+   zones.add(new Zone("zone-" + i, world, x, y, z, x + width, y + random.nextInt(16, 121), z + depth,
+           ruleSets[i % ruleSets.length]));
+  }
+  return zones;
+ }
+
+ /**
+  * Picks a random block position inside a zone.
+  */
+ int[] pointIn(Zone zone) {
+  return new int[]{
+          random.nextInt(zone.getMinX(), zone.getMaxX() + 1),
+          random.nextInt(zone.getMinY(), zone.getMaxY() + 1),
+          random.nextInt(zone.getMinZ(), zone.getMaxZ() + 1)};
+ }
+
+ /**
+  * Picks a random block position where players would be: anywhere for uniform layouts, near a hot spot for clustered ones.
+  */
+ int[] pointNearby() {
+  int x, z;
+  if (layout == Layout.UNIFORM) {
+   x = coordinate();
+   z = coordinate();
+  } else {
+   int[] center = clusters[random.nextInt(clusters.length)];
+   x = center[0] + random.nextInt(-384, 385);
+   z = center[1] + random.nextInt(-384, 385);
+  }
+  return new int[]{x, random.nextInt(-64, 320), z};
+ }
+
+ int nextInt(int bound) {
+  return random.nextInt(bound);
+ }
+
+ private int coordinate() {
+  return random.nextInt(-extent, extent + 1);
+ }
+}
@@ -0,0 +1,75 @@
+package net.alexxiconify.alexxAutoWarn.benchmarks;
+
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.managers.ZoneManager;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ZoneManager#getZoneAt(UUID, int, int, int)} for every index type over synthetic zone sets.
+ * Half of the query points lie inside a zone and half are spread where players would be, so both hits and misses are covered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZoneLookupBenchmark {
+
+ private static final int POINTS = 4096; // Power of two, so the cursor wraps with a mask
+
+ @Param({"10", "1000", "10000", "100000"})
+ public int zones;
+
+ @Param({"UNIFORM", "CLUSTERED"})
+ public SyntheticZones.Layout layout;
+
+ @Param({"LINEAR", "CHUNK", "BVH"})
+ public ZoneIndex.Type index;
+
+ private ZoneManager zoneManager;
+ private UUID worldId;
+ private final int[] xs = new int[POINTS];
+ private final int[] ys = new int[POINTS];
+ private final int[] zs = new int[POINTS];
+ private int cursor;
+
+ @Setup
+ public void setup() {
+  BenchmarkPlugin plugin = BenchmarkPlugin.create(index, 0);
+  zoneManager = plugin.plugin().getZoneManager();
+  World world = Stubs.world("world");
+  worldId = world.getUID();
+  SyntheticZones generator = new SyntheticZones(zones, layout);
+  List<Zone> created = generator.create(zoneManager, world, zones);
+  plugin.publish(created);
+  for (int i = 0; i < POINTS; i++) {
+   int[] point = i % 2 == 0 ? generator.pointIn(created.get(generator.nextInt(created.size()))) : generator.pointNearby();
+   xs[i] = point[0];
+   ys[i] = point[1];
+   zs[i] = point[2];
+  }
+ }
+
+ @Benchmark
+ public Zone getZoneAt() {
+  int i = cursor++ & (POINTS - 1);
+  return zoneManager.getZoneAt(worldId, xs[i], ys[i], zs[i]);
+ }
+}
@@ -0,0 +1,82 @@
+package net.alexxiconify.alexxAutoWarn.benchmarks;
+
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-zone checks of the hot path: {@link Zone#contains(UUID, int, int, int)},
+ * the rule lookup through {@link Zone#getActionFor(Material)}, and the compiled ActionTable that replaced it.
+ * These do not depend on the number of zones, so a single 1k uniform set is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZoneRulesBenchmark {
+
+ private static final int SAMPLES = 1024; // Power of two, so the cursor wraps with a mask
+ private static final Material[] MATERIALS = {
+         SyntheticZones.DENIED, SyntheticZones.ALERTED, SyntheticZones.UNRESTRICTED, Material.LAVA, Material.STONE};
+
+ private final Zone[] zones = new Zone[SAMPLES];
+ private final int[] xs = new int[SAMPLES];
+ private final int[] ys = new int[SAMPLES];
+ private final int[] zs = new int[SAMPLES];
+ private final Material[] materials = new Material[SAMPLES];
+ private UUID worldId;
+ private int cursor;
+
+ @Setup
+ public void setup() {
+  BenchmarkPlugin plugin = BenchmarkPlugin.create(ZoneIndex.Type.CHUNK, 0);
+  World world = Stubs.world("world");
+  worldId = world.getUID();
+  SyntheticZones generator = new SyntheticZones(1000, SyntheticZones.Layout.UNIFORM);
+  List<Zone> created = generator.create(plugin.plugin().getZoneManager(), world, 1000);
+  for (int i = 0; i < SAMPLES; i++) {
+   zones[i] = created.get(generator.nextInt(created.size()));
+   // Alternate hits and misses, so the branch predictor cannot learn the outcome
+   int[] point = i % 2 == 0 ? generator.pointIn(zones[i]) : generator.pointNearby();
+   xs[i] = point[0];
+   ys[i] = point[1];
+   zs[i] = point[2];
+   materials[i] = MATERIALS[generator.nextInt(MATERIALS.length)];
+  }
+ }
+
+ @Benchmark
+ public boolean contains() {
+  int i = cursor++ & (SAMPLES - 1);
+  return zones[i].contains(worldId, xs[i], ys[i], zs[i]);
+ }
+
+ @Benchmark
+ public Zone.Action getActionFor() {
+  int i = cursor++ & (SAMPLES - 1);
+  return zones[i].getActionFor(materials[i]);
+ }
+
+ @Benchmark
+ public byte actionTable() {
+  int i = cursor++ & (SAMPLES - 1);
+  return zones[i].getActionTable().get(materials[i]);
+ }
+}
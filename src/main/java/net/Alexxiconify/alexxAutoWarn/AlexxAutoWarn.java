@@ -1,9 +1,17 @@
 package net.alexxiconify.alexxAutoWarn; // Consistent casing: lowercase 'a' in alexxiconify
 
 import com.google.common.base.Stopwatch;
+import net.alexxiconify.alexxAutoWarn.audit.AuditLogger;
 import net.alexxiconify.alexxAutoWarn.commands.AutoWarnCommand;
+import net.alexxiconify.alexxAutoWarn.listeners.PlayerSessionListener;
+import net.alexxiconify.alexxAutoWarn.listeners.WorldListener;
 import net.alexxiconify.alexxAutoWarn.listeners.ZoneListener;
+import net.alexxiconify.alexxAutoWarn.managers.AlertAggregator;
+import net.alexxiconify.alexxAutoWarn.managers.CoreProtectQueue;
+import net.alexxiconify.alexxAutoWarn.managers.PlayerSessionManager;
+import net.alexxiconify.alexxAutoWarn.managers.SaveScheduler;
 import net.alexxiconify.alexxAutoWarn.managers.ZoneManager;
+import net.alexxiconify.alexxAutoWarn.metrics.PluginMetrics;
 import net.alexxiconify.alexxAutoWarn.utils.Settings;
 import net.coreprotect.CoreProtect;
 import net.coreprotect.CoreProtectAPI;
@@ -12,7 +20,10 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
@@ -25,8 +36,14 @@ public final class AlexxAutoWarn extends JavaPlugin {
 
  private Settings settings;
  private ZoneManager zoneManager;
+ private SaveScheduler saveScheduler;
+ private PlayerSessionManager sessionManager;
+ private AlertAggregator alertAggregator;
  private CoreProtectAPI coreProtectAPI;
+ private CoreProtectQueue coreProtectQueue;
+ private AuditLogger auditLogger;
  private AutoWarnCommand autoWarnCommand; // Added field to hold the command instance
+ private PluginMetrics metrics;
 
  @Override
  public void onEnable() {
@@ -35,8 +52,8 @@ public final class AlexxAutoWarn extends JavaPlugin {
 
   // FIX: Ensure Settings and ZoneManager are initialized BEFORE reloadConfig()
   // This ensures 'settings' and 'zoneManager' objects exist when reloadConfig() calls their reload/load methods.
-  this.settings = new Settings(this);
-  this.zoneManager = new ZoneManager(this);
+  createCoreManagers();
+  this.saveScheduler = new SaveScheduler(this);
 
   // Ensure default config is saved and loaded
   saveDefaultConfig();
@@ -57,6 +74,32 @@ public final class AlexxAutoWarn extends JavaPlugin {
   // Setup CoreProtect API hook
   setupCoreProtect();
 
+  // Structured decision log, written off the main thread
+  if (settings.isAuditLogEnabled()) {
+   this.auditLogger = new AuditLogger(getLogger(), new File(getDataFolder(), "audit"), settings.getAuditLogBufferSize(),
+           settings.getAuditLogMaxFileBytes(), settings.getAuditLogMaxFiles(),
+           settings.getAuditLogSummarySeconds(), settings.getAuditLogSampleEvery());
+  }
+
+  // Per-player caches; open sessions for anyone already online (e.g. after /reload)
+  this.sessionManager = new PlayerSessionManager(this);
+  this.sessionManager.openAll(getServer().getOnlinePlayers());
+  // Bukkit has no permission-change event, so re-check notify permissions periodically
+  long refreshTicks = settings.getPermissionRefreshSeconds() * 20L;
+  if (refreshTicks > 0) {
+   getServer().getScheduler().runTaskTimer(this, this.sessionManager::refreshAllPermissions, refreshTicks, refreshTicks);
+  }
+
+  // Coalesces repeated alerts into one summary per window
+  this.alertAggregator = new AlertAggregator(this);
+  this.alertAggregator.start();
+
+  // Write the statistics to a file now and then, off the main thread
+  long dumpTicks = settings.getMetricsDumpSeconds() * 20L;
+  if (dumpTicks > 0) {
+   getServer().getScheduler().runTaskTimerAsynchronously(this, this::dumpMetrics, dumpTicks, dumpTicks);
+  }
+
   // Initialize and register commands
   this.autoWarnCommand = new AutoWarnCommand(this); // Initialize the command instance
 
@@ -72,18 +115,59 @@ public final class AlexxAutoWarn extends JavaPlugin {
   }
 
   // Register event listeners
+  this.getServer().getPluginManager().registerEvents(new PlayerSessionListener(this), this);
+  this.getServer().getPluginManager().registerEvents(new WorldListener(this), this);
   this.getServer().getPluginManager().registerEvents(new ZoneListener(this, this.autoWarnCommand), this);
 
   long time = stopwatch.stop().elapsed(TimeUnit.MILLISECONDS);
   this.getLogger().log(Level.INFO, "AlexxAutoWarn enabled successfully in {0}ms.", time);
  }
 
+ /**
+  * Creates the settings, metrics and zone manager, in the order later components rely on.
+  */
+ private void createCoreManagers() {
+  this.settings = new Settings(this);
+  this.metrics = new PluginMetrics(); // Before the ZoneManager, which times its lookups
+  this.zoneManager = new ZoneManager(this);
+ }
+
+ /**
+  * Sets up the components an action passes through, from the configuration already loaded, without touching
+  * the server: no storage, scheduler, CoreProtect hook or audit log. Used by the benchmarks, which drive the
+  * plugin outside of a server.
+  */
+ @VisibleForTesting
+ public void setUpForBenchmarks() {
+  createCoreManagers();
+  this.settings.reload(); // As reloadConfig does, once the ZoneManager exists
+  this.sessionManager = new PlayerSessionManager(this);
+  this.alertAggregator = new AlertAggregator(this);
+ }
+
  @Override
  public void onDisable() {
   this.getLogger().info("Disabling AlexxAutoWarn...");
-  // Synchronously save zones on disable to ensure data is written before shutdown
+  // Report whatever is still being aggregated before the server goes down
+  if (this.alertAggregator != null) {
+   this.alertAggregator.stop();
+  }
+  // Hand everything still queued to CoreProtect before it shuts down
+  if (this.coreProtectQueue != null) {
+   this.coreProtectQueue.shutdown(5000L);
+  }
+  if (this.auditLogger != null) {
+   this.auditLogger.shutdown(5000L);
+  }
+  // Write any pending changes before shutdown; nothing is written if everything is already saved
+  if (this.saveScheduler != null) {
+   this.saveScheduler.shutdown();
+  }
   if (this.zoneManager != null) {
-   this.zoneManager.saveZones(false); // Perform a blocking save on disable
+   this.zoneManager.closeStorage(); // After the last save, which still writes YAML-stored zones
+  }
+  if (this.metrics != null && settings.getMetricsDumpSeconds() > 0) {
+   dumpMetrics(); // Keep the totals of this run
   }
   this.getLogger().info("AlexxAutoWarn has been disabled.");
  }
@@ -95,15 +179,29 @@ public final class AlexxAutoWarn extends JavaPlugin {
   */
  @Override
  public void reloadConfig() {
-  super.reloadConfig(); // Call the parent method to reload the underlying configuration file
-  // Reload custom settings and zones after the base config has been reloaded.
-  // These checks are now guaranteed to be non-null due to initialization order in onEnable.
-  if (this.settings != null) {
-   this.settings.reload(); // Tell your custom Settings class to reload its cached data
+  if (this.saveScheduler == null) {
+   super.reloadConfig(); // Called by JavaPlugin before onEnable has set anything up
+   return;
+  }
+  // Persist edits made through commands first, so the reload does not discard them
+  this.saveScheduler.flush();
+  synchronized (this.saveScheduler.getConfigLock()) {
+   super.reloadConfig(); // Call the parent method to reload the underlying configuration file
+   // Reload custom settings and zones after the base config has been reloaded.
+   // These checks are now guaranteed to be non-null due to initialization order in onEnable.
+   if (this.settings != null) {
+    this.settings.reload(); // Tell your custom Settings class to reload its cached data
+   }
+  }
+  if (this.metrics != null) {
+   this.metrics.setEnabled(settings.isMetricsEnabled());
   }
   if (this.zoneManager != null) {
    this.zoneManager.loadZones(); // Reload zones after config is reloaded
   }
+  if (this.sessionManager != null) {
+   this.sessionManager.refreshAllPermissions(); // Pick up permission changes made alongside the reload
+  }
  }
 
  /**
@@ -133,9 +231,22 @@ public final class AlexxAutoWarn extends JavaPlugin {
   }
 
   this.coreProtectAPI = api;
+  // All logging goes through a bounded queue so a slow CoreProtect database never blocks the main thread
+  this.coreProtectQueue = new CoreProtectQueue(api, getLogger(), settings.getCoreProtectQueueCapacity(), settings.getCoreProtectBatchSize());
   getLogger().info("Successfully hooked into CoreProtect API.");
  }
 
+ /**
+  * Writes the current statistics to stats.txt in the plugin folder.
+  */
+ private void dumpMetrics() {
+  try {
+   metrics.dump(new File(getDataFolder(), "stats.txt").toPath());
+  } catch (IOException e) {
+   getLogger().log(Level.WARNING, "Failed to write stats.txt.", e);
+  }
+ }
+
  // --- Getters ---
 
  /**
@@ -157,6 +268,33 @@ public final class AlexxAutoWarn extends JavaPlugin {
   return zoneManager;
  }
 
+ /**
+  * Provides access to the configuration save scheduler.
+  * @return The SaveScheduler instance.
+  */
+ @NotNull
+ public SaveScheduler getSaveScheduler() {
+  return saveScheduler;
+ }
+
+ /**
+  * Provides access to the per-player session manager.
+  * @return The PlayerSessionManager instance.
+  */
+ @NotNull
+ public PlayerSessionManager getSessionManager() {
+  return sessionManager;
+ }
+
+ /**
+  * Provides access to the alert aggregator.
+  * @return The AlertAggregator instance.
+  */
+ @NotNull
+ public AlertAggregator getAlertAggregator() {
+  return alertAggregator;
+ }
+
  /**
   * Provides access to the CoreProtect API instance.
   * @return The CoreProtectAPI instance, or null if not hooked.
@@ -165,4 +303,31 @@ public final class AlexxAutoWarn extends JavaPlugin {
  public CoreProtectAPI getCoreProtectAPI() {
   return coreProtectAPI;
  }
-}
\ No newline at end of file
+
+ /**
+  * Provides access to the asynchronous CoreProtect logging queue.
+  * @return The CoreProtectQueue instance, or null if CoreProtect is not hooked.
+  */
+ @Nullable
+ public CoreProtectQueue getCoreProtectQueue() {
+  return coreProtectQueue;
+ }
+
+ /**
+  * Provides access to the audit logger.
+  * @return The AuditLogger instance, or null if the audit log is disabled.
+  */
+ @Nullable
+ public AuditLogger getAuditLogger() {
+  return auditLogger;
+ }
+
+ /**
+  * Provides access to the runtime statistics.
+  * @return The PluginMetrics instance.
+  */
+ @NotNull
+ public PluginMetrics getMetrics() {
+  return metrics;
+ }
+}
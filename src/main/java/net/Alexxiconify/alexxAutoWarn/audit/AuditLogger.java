@@ -0,0 +1,249 @@
+package net.alexxiconify.alexxAutoWarn.audit;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes every zone decision to size-rotated audit files as one JSON object per line.
+ * <p>
+ * The main thread only captures an {@link AuditRecord} and offers it to a lock-free ring buffer.
+ * A dedicated writer thread does all formatting and file I/O, and is the only place that talks
+ * to the console: a periodic summary and, optionally, every n-th record.
+ */
+public class AuditLogger {
+
+ private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+ private static final String FILE_NAME = "audit.log";
+
+ private final Logger logger;
+ private final Path directory;
+ private final AuditRingBuffer<AuditRecord> buffer;
+ private final long maxFileBytes;
+ private final int maxFiles;
+ private final long summaryIntervalMillis;
+ private final int sampleEvery;
+ private final Thread writerThread;
+ private final LongAdder dropped = new LongAdder();
+ private volatile boolean running = true;
+
+ // Writer thread state
+ private final long[] actionCounts = new long[Zone.Action.values().length];
+ private final StringBuilder line = new StringBuilder(256);
+ private Writer writer;
+ private long fileBytes;
+ private long written;
+ private long lastSummaryMillis = System.currentTimeMillis();
+ private long droppedAtLastSummary;
+
+ /**
+  * Creates the audit logger and starts its writer thread.
+  *
+  * @param logger                 The plugin logger, used for the console summary.
+  * @param directory              The directory that holds the audit files.
+  * @param bufferSize             The ring buffer capacity.
+  * @param maxFileBytes           The size at which the current file is rotated.
+  * @param maxFiles               The number of rotated files to keep.
+  * @param summaryIntervalSeconds The console summary interval, or 0 to disable it.
+  * @param sampleEvery            Print every n-th record to the console, or 0 to disable sampling.
+  */
+ public AuditLogger(@NotNull Logger logger, @NotNull File directory, int bufferSize, long maxFileBytes, int maxFiles,
+                    int summaryIntervalSeconds, int sampleEvery) {
+  this.logger = logger;
+  this.directory = directory.toPath();
+  this.buffer = new AuditRingBuffer<>(bufferSize);
+  this.maxFileBytes = Math.max(1024L, maxFileBytes);
+  this.maxFiles = Math.max(1, maxFiles);
+  this.summaryIntervalMillis = TimeUnit.SECONDS.toMillis(Math.max(0, summaryIntervalSeconds));
+  this.sampleEvery = Math.max(0, sampleEvery);
+  this.writerThread = new Thread(this::run, "AlexxAutoWarn-Audit");
+  this.writerThread.setDaemon(true);
+  this.writerThread.start();
+ }
+
+ /**
+  * Records one decision. Never blocks; the record is dropped if the writer has fallen a full buffer behind.
+  *
+  * @param record The decision to record.
+  */
+ public void record(@NotNull AuditRecord record) {
+  if (!running || !buffer.offer(record)) {
+   dropped.increment();
+  }
+ }
+
+ /**
+  * Stops accepting records and waits for the writer to flush everything still buffered.
+  *
+  * @param timeoutMillis The maximum time to wait.
+  */
+ public void shutdown(long timeoutMillis) {
+  running = false;
+  LockSupport.unpark(writerThread);
+  try {
+   writerThread.join(timeoutMillis);
+  } catch (InterruptedException e) {
+   Thread.currentThread().interrupt();
+  }
+ }
+
+ public long getDropped() {
+  return dropped.sum();
+ }
+
+ public int getPending() {
+  return buffer.size();
+ }
+
+ private void run() {
+  try {
+   Files.createDirectories(directory);
+   openWriter();
+   while (running || buffer.size() > 0) {
+    int drained = drain();
+    if (drained > 0) {
+     writer.flush();
+    } else if (running) {
+     LockSupport.parkNanos(IDLE_PARK_NANOS);
+    } else {
+     break; // Stopped, and the remaining claimed slot was never published
+    }
+    maybeLogSummary(false);
+   }
+   maybeLogSummary(true);
+  } catch (IOException e) {
+   logger.log(Level.SEVERE, "Audit log writer failed; audit logging is disabled until restart.", e);
+   running = false;
+  } finally {
+   closeWriter();
+  }
+ }
+
+ private int drain() throws IOException {
+  int drained = 0;
+  AuditRecord record;
+  while ((record = buffer.poll()) != null) {
+   write(record);
+   drained++;
+  }
+  return drained;
+ }
+
+ private void write(AuditRecord record) throws IOException {
+  line.setLength(0);
+  line.append("{\"ts\":\"").append(Instant.ofEpochMilli(record.timestamp()))
+          .append("\",\"player\":\"").append(record.playerId())
+          .append("\",\"name\":\"").append(record.playerName())
+          .append("\",\"world\":");
+  appendQuoted(line, record.world());
+  line.append(",\"x\":").append(record.x())
+          .append(",\"y\":").append(record.y())
+          .append(",\"z\":").append(record.z())
+          .append(",\"material\":\"").append(record.material().name())
+          .append("\",\"zone\":");
+  appendQuoted(line, record.zone());
+  line.append(",\"action\":\"").append(record.action().name()).append("\"}\n");
+
+  if (fileBytes + line.length() > maxFileBytes && fileBytes > 0) {
+   rotate();
+  }
+  writer.append(line);
+  fileBytes += line.length(); // Audit content is ASCII apart from rare world names, so chars approximate bytes
+  written++;
+  actionCounts[record.action().ordinal()]++;
+
+  if (sampleEvery > 0 && written % sampleEvery == 0) {
+   logger.info("[Audit] " + record.playerName() + " " + record.action().name() + " " + record.material().name()
+           + " in " + record.zone() + " at " + record.world() + ": " + record.x() + ", " + record.y() + ", " + record.z());
+  }
+ }
+
+ private void maybeLogSummary(boolean force) {
+  if (summaryIntervalMillis == 0) {
+   return;
+  }
+  long now = System.currentTimeMillis();
+  if (!force && now - lastSummaryMillis < summaryIntervalMillis) {
+   return;
+  }
+  long total = 0;
+  for (long count : actionCounts) {
+   total += count;
+  }
+  long droppedNow = dropped.sum();
+  long droppedSince = droppedNow - droppedAtLastSummary;
+  if (total > 0 || droppedSince > 0) {
+   logger.info(String.format("[Audit] %d decisions in the last %ds (DENY %d, ALERT %d, ALLOW %d)%s",
+           total, (now - lastSummaryMillis) / 1000,
+           actionCounts[Zone.Action.DENY.ordinal()], actionCounts[Zone.Action.ALERT.ordinal()], actionCounts[Zone.Action.ALLOW.ordinal()],
+           droppedSince > 0 ? ", " + droppedSince + " dropped" : ""));
+  }
+  Arrays.fill(actionCounts, 0L);
+  droppedAtLastSummary = droppedNow;
+  lastSummaryMillis = now;
+ }
+
+ private void openWriter() throws IOException {
+  Path file = directory.resolve(FILE_NAME);
+  fileBytes = Files.exists(file) ? Files.size(file) : 0L;
+  writer = new BufferedWriter(new OutputStreamWriter(
+          Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), 64 * 1024);
+ }
+
+ /**
+  * Shifts audit.log to audit.1.log, audit.1.log to audit.2.log and so on, discarding the oldest file.
+  */
+ private void rotate() throws IOException {
+  closeWriter();
+  Files.deleteIfExists(directory.resolve("audit." + maxFiles + ".log"));
+  for (int i = maxFiles - 1; i >= 1; i--) {
+   Path source = directory.resolve("audit." + i + ".log");
+   if (Files.exists(source)) {
+    Files.move(source, directory.resolve("audit." + (i + 1) + ".log"), StandardCopyOption.REPLACE_EXISTING);
+   }
+  }
+  Files.move(directory.resolve(FILE_NAME), directory.resolve("audit.1.log"), StandardCopyOption.REPLACE_EXISTING);
+  openWriter();
+ }
+
+ private void closeWriter() {
+  if (writer == null) {
+   return;
+  }
+  try {
+   writer.close();
+  } catch (IOException e) {
+   logger.log(Level.WARNING, "Failed to close the audit log.", e);
+  }
+  writer = null;
+ }
+
+ private static void appendQuoted(StringBuilder builder, String value) {
+  builder.append('"');
+  for (int i = 0; i < value.length(); i++) {
+   char c = value.charAt(i);
+   if (c == '"' || c == '\\') {
+    builder.append('\\');
+   }
+   builder.append(c < 0x20 ? ' ' : c);
+  }
+  builder.append('"');
+ }
+}
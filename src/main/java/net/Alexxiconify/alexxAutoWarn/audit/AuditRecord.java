@@ -0,0 +1,26 @@
+package net.alexxiconify.alexxAutoWarn.audit;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * One zone decision as written to the audit log. Captured on the main thread with raw values only;
+ * all string formatting happens on the audit writer thread.
+ *
+ * @param timestamp  The time of the decision in epoch milliseconds.
+ * @param playerId   The UUID of the acting player.
+ * @param playerName The name of the acting player.
+ * @param world      The name of the world.
+ * @param x          The block X coordinate.
+ * @param y          The block Y coordinate.
+ * @param z          The block Z coordinate.
+ * @param material   The material involved.
+ * @param zone       The name of the zone, or "Global" for global bans.
+ * @param action     The resulting action.
+ */
+public record AuditRecord(long timestamp, @NotNull UUID playerId, @NotNull String playerName, @NotNull String world,
+                          int x, int y, int z, @NotNull Material material, @NotNull String zone, @NotNull Zone.Action action) {
+}
@@ -0,0 +1,83 @@
+package net.alexxiconify.alexxAutoWarn.audit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free multi-producer / single-consumer ring buffer.
+ * <p>
+ * Producers claim a sequence number with a CAS on the tail and then publish into the claimed slot;
+ * the single consumer takes slots in sequence order and frees them. When the buffer is full, {@link #offer}
+ * fails immediately instead of waiting, so producers on the main thread never block.
+ *
+ * @param <T> The element type.
+ */
+final class AuditRingBuffer<T> {
+
+ private final AtomicReferenceArray<T> slots;
+ private final int mask;
+ private final AtomicLong tail = new AtomicLong(); // Next sequence to claim
+ private final AtomicLong head = new AtomicLong(); // Next sequence to consume; written by the consumer only
+
+ /**
+  * @param capacity The requested capacity, rounded up to a power of two.
+  */
+ AuditRingBuffer(int capacity) {
+  int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+  this.slots = new AtomicReferenceArray<>(size);
+  this.mask = size - 1;
+ }
+
+ /**
+  * Appends an element.
+  *
+  * @param element The element to append.
+  * @return false if the buffer was full and the element was not added.
+  */
+ boolean offer(@NotNull T element) {
+  long sequence;
+  do {
+   sequence = tail.get();
+   if (sequence - head.get() > mask) {
+    return false;
+   }
+  } while (!tail.compareAndSet(sequence, sequence + 1));
+  slots.lazySet((int) sequence & mask, element); // Publishes the element to the consumer
+  return true;
+ }
+
+ /**
+  * Takes the next element. Must only be called from the consumer thread.
+  *
+  * @return The next element, or null if the buffer is empty or the next slot is not published yet.
+  */
+ @Nullable
+ T poll() {
+  long sequence = head.get();
+  int index = (int) sequence & mask;
+  T element = slots.get(index);
+  if (element == null) {
+   return null;
+  }
+  slots.lazySet(index, null);
+  head.lazySet(sequence + 1); // Frees the slot for producers
+  return element;
+ }
+
+ /**
+  * @return The approximate number of claimed but not yet consumed slots.
+  */
+ int size() {
+  return (int) Math.max(0L, tail.get() - head.get());
+ }
+
+ /**
+  * @return The actual capacity.
+  */
+ int capacity() {
+  return mask + 1;
+ }
+}
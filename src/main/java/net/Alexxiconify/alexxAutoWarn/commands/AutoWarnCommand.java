@@ -2,8 +2,15 @@ package net.alexxiconify.alexxAutoWarn.commands; // Consistent casing
 
 import com.google.common.collect.ImmutableList;
 import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.audit.AuditLogger;
+import net.alexxiconify.alexxAutoWarn.managers.CoreProtectQueue;
+import net.alexxiconify.alexxAutoWarn.managers.PlayerSessionManager;
+import net.alexxiconify.alexxAutoWarn.managers.RuleSetRegistry;
 import net.alexxiconify.alexxAutoWarn.managers.ZoneManager;
+import net.alexxiconify.alexxAutoWarn.metrics.ZoneHitCounters;
 import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import net.alexxiconify.alexxAutoWarn.storage.ZoneImportReader;
+import net.alexxiconify.alexxAutoWarn.storage.ZoneStorage;
 import net.alexxiconify.alexxAutoWarn.utils.Settings;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -22,8 +29,13 @@ import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,8 +48,16 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
 
  // Regex for valid zone names
  private static final Pattern ZONE_NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_-]{3,32}$");
+ private static final int DEFAULT_TOP_ZONES = 10;
+ private static final int MAX_TOP_ZONES = 100; // Keeps the reply readable in chat
+ private static final long IMPORT_PROGRESS_NANOS = TimeUnit.SECONDS.toNanos(2); // At most one progress message per interval
+ private static final int IMPORT_ERRORS_SHOWN = 5; // The rest are in the console
  private final Settings settings;
  private final ZoneManager zoneManager;
+ /**
+  * The material of the selection wand. Listeners compare against it before reading the wand key.
+  */
+ public static final Material WAND_MATERIAL = Material.BLAZE_ROD;
  // Key for the selection wand's persistent data
  private static final NamespacedKey WAND_KEY;
 
@@ -120,6 +140,12 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
       player.sendMessage(settings.getMessage("error.invalid-zone-name"));
       return true;
      }
+     String dormantWorld = zoneManager.getDormantWorld(zoneName);
+     if (dormantWorld != null) {
+      // Redefining it here would overwrite the stored zone of the unloaded world
+      player.sendMessage(settings.getMessage("error.zone-dormant", "zone", zoneName, "world", dormantWorld));
+      return true;
+     }
 
      // Retrieve Vectors directly
      Vector p1Vector = pos1.get(player.getUniqueId());
@@ -140,7 +166,7 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
 
      // Create the zone and add it
      Zone newZone = new Zone(zoneName, playerWorld, p1Vector, p2Vector,
-             Zone.Action.ALERT, new EnumMap<>(Material.class)); // Default to ALERT, empty material actions
+             zoneManager.internRules(Zone.Action.ALERT, new EnumMap<>(Material.class))); // Default to ALERT, empty material actions
      zoneManager.addOrUpdateZone(newZone);
 
      player.sendMessage(settings.getMessage("command.define-success",
@@ -242,7 +268,7 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
     }
 
     Zone updatedDaZone = new Zone(daZone.getName(), daWorld, daZone.getMin(), daZone.getMax(),
-            newDefaultAction, daZone.getMaterialActions());
+            zoneManager.internRules(newDefaultAction, daZone.getMaterialActions()));
     zoneManager.addOrUpdateZone(updatedDaZone); // This will save the updated zone
 
     sender.sendMessage(settings.getMessage("command.defaultaction-success",
@@ -299,7 +325,7 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
     }
 
     Zone updatedSaZone = new Zone(saZone.getName(), saWorld, saZone.getMin(), saZone.getMax(),
-            saZone.getDefaultAction(), updatedMaterialActions);
+            zoneManager.internRules(saZone.getDefaultAction(), updatedMaterialActions));
     zoneManager.addOrUpdateZone(updatedSaZone); // This will save the updated zone
 
     sender.sendMessage(settings.getMessage("command.setaction-success",
@@ -352,7 +378,7 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
     }
 
     Zone updatedRaZone = new Zone(raZone.getName(), raWorld, raZone.getMin(), raZone.getMax(),
-            raZone.getDefaultAction(), currentMaterialActions);
+            zoneManager.internRules(raZone.getDefaultAction(), currentMaterialActions));
     zoneManager.addOrUpdateZone(updatedRaZone); // This will save the updated zone
 
     sender.sendMessage(settings.getMessage("command.removeaction-success",
@@ -431,6 +457,104 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
       return true;
     }
 
+   case "stats":
+    if (!sender.hasPermission("autowarn.stats")) {
+     sender.sendMessage(settings.getMessage("error.no-permission"));
+     return true;
+    }
+    if (args.length == 2 && args[1].equalsIgnoreCase("reset")) {
+     plugin.getMetrics().reset();
+     sender.sendMessage(settings.getMessage("command.stats-reset"));
+     return true;
+    }
+    sendStats(sender);
+    return true;
+
+   case "top":
+    if (!sender.hasPermission("autowarn.top")) {
+     sender.sendMessage(settings.getMessage("error.no-permission"));
+     return true;
+    }
+    int limit = DEFAULT_TOP_ZONES;
+    if (args.length >= 2) {
+     try {
+      limit = Integer.parseInt(args[1]);
+     } catch (NumberFormatException e) {
+      limit = 0; // Reported as a usage error below
+     }
+    }
+    if (limit < 1 || limit > MAX_TOP_ZONES) {
+     sender.sendMessage(settings.getMessage("error.usage.top"));
+     return true;
+    }
+    sendTopZones(sender, limit);
+    return true;
+
+   case "memory":
+    if (!sender.hasPermission("autowarn.memory")) {
+     sender.sendMessage(settings.getMessage("error.no-permission"));
+     return true;
+    }
+    sendMemoryReport(sender);
+    return true;
+
+   case "notify":
+    if (sender instanceof Player player) {
+     if (!player.hasPermission("autowarn.notify")) {
+      player.sendMessage(settings.getMessage("error.no-permission"));
+      return true;
+     }
+     if (args.length < 2 || !(args[1].equalsIgnoreCase("on") || args[1].equalsIgnoreCase("off"))) {
+      player.sendMessage(settings.getMessage("error.usage.notify"));
+      return true;
+     }
+     boolean enabled = args[1].equalsIgnoreCase("on");
+     plugin.getSessionManager().setNotificationsEnabled(player, enabled);
+     player.sendMessage(settings.getMessage(enabled ? "command.notify-on" : "command.notify-off"));
+    } else {
+     sender.sendMessage(settings.getMessage("error.player-only"));
+    }
+    return true;
+
+   case "migrate":
+    if (!sender.hasPermission("autowarn.migrate")) {
+     sender.sendMessage(settings.getMessage("error.no-permission"));
+     return true;
+    }
+    ZoneStorage.Type target = null;
+    if (args.length >= 2) {
+     try {
+      target = ZoneStorage.Type.valueOf(args[1].toUpperCase());
+     } catch (IllegalArgumentException ignored) {
+      // Reported as a usage error below
+     }
+    }
+    if (target == null) {
+     sender.sendMessage(settings.getMessage("error.usage.migrate"));
+     return true;
+    }
+    if (target == zoneManager.getStorageType()) {
+     sender.sendMessage(settings.getMessage("command.migrate-same", "storage", target.name()));
+     return true;
+    }
+    migrateStorage(sender, target);
+    return true;
+
+   case "import":
+    if (!sender.hasPermission("autowarn.import")) {
+     sender.sendMessage(settings.getMessage("error.no-permission"));
+     return true;
+    }
+    Path dataFolder = plugin.getDataFolder().toPath().toAbsolutePath().normalize();
+    Path importFile = args.length == 2 ? dataFolder.resolve(args[1]).normalize() : null;
+    // Only files inside the plugin folder can be imported
+    if (importFile == null || !importFile.startsWith(dataFolder) || ZoneImportReader.Format.of(importFile) == null) {
+     sender.sendMessage(settings.getMessage("error.usage.import"));
+     return true;
+    }
+    importZones(sender, importFile, args[1]);
+    return true;
+
    case "reload":
     if (!sender.hasPermission("autowarn.reload")) {
      sender.sendMessage(settings.getMessage("error.no-permission"));
@@ -447,7 +571,7 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
  }
 
  private void giveSelectionWand(Player player) {
-  ItemStack wand = new ItemStack(Material.BLAZE_ROD); // Or any other suitable item
+  ItemStack wand = new ItemStack(WAND_MATERIAL);
   ItemMeta meta = wand.getItemMeta();
   if (meta != null) {
    meta.displayName(settings.getMessage("wand.name"));
@@ -463,6 +587,70 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
   player.sendMessage(settings.getMessage("command.wand-given"));
  }
 
+ /**
+  * Copies all zones to the given storage backend off the main thread and reports back on it.
+  */
+ private void migrateStorage(CommandSender sender, ZoneStorage.Type target) {
+  sender.sendMessage(settings.getMessage("command.migrate-started", "storage", target.name()));
+  Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+   try {
+    int migrated = zoneManager.migrate(target);
+    Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(settings.getMessage("command.migrate-success",
+            "count", String.valueOf(migrated), "storage", target.name())));
+   } catch (IOException e) {
+    plugin.getLogger().log(Level.SEVERE, "Failed to migrate zones to " + target + " storage.", e);
+    Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(settings.getMessage("command.migrate-failed",
+            "storage", target.name())));
+   }
+  });
+ }
+
+ /**
+  * Reads zone definitions from a file off the main thread, imports them in one update and reports back on the main thread.
+  */
+ private void importZones(CommandSender sender, Path file, String fileName) {
+  sender.sendMessage(settings.getMessage("command.import-started", "file", fileName));
+  Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+   long[] lastProgress = {System.nanoTime()}; // Only used by this thread
+   ZoneImportReader reader = new ZoneImportReader(name -> ZONE_NAME_PATTERN.matcher(name).matches(), read -> {
+    long now = System.nanoTime();
+    if (now - lastProgress[0] >= IMPORT_PROGRESS_NANOS) {
+     lastProgress[0] = now;
+     Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(settings.getMessage("command.import-progress",
+             "count", String.valueOf(read))));
+    }
+   });
+   ZoneImportReader.Result result;
+   try {
+    result = reader.read(file);
+   } catch (NoSuchFileException e) {
+    Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(settings.getMessage("command.import-not-found",
+            "file", fileName)));
+    return;
+   } catch (IOException e) {
+    plugin.getLogger().log(Level.SEVERE, "Failed to read zones from " + file + ".", e);
+    Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(settings.getMessage("command.import-failed",
+            "file", fileName)));
+    return;
+   }
+   result.errors().forEach(error -> settings.log(Level.WARNING, "Skipped a zone in " + fileName + " at " + error + "."));
+   int read = result.records().size();
+   zoneManager.importZones(result.records()).whenComplete((imported, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+    if (error != null) {
+     plugin.getLogger().log(Level.SEVERE, "Failed to import zones from " + file + ".", error);
+     sender.sendMessage(settings.getMessage("command.import-failed", "file", fileName));
+     return;
+    }
+    // Entries dropped by the reader, plus zones rejected while validating or sharing a name
+    int skipped = result.skipped() + read - imported;
+    sender.sendMessage(settings.getMessage("command.import-success", "count", String.valueOf(imported),
+            "file", fileName, "skipped", String.valueOf(skipped)));
+    result.errors().subList(0, Math.min(IMPORT_ERRORS_SHOWN, result.errors().size())).forEach(problem ->
+            sender.sendMessage(Component.text("  " + problem).color(NamedTextColor.GRAY)));
+   }));
+  });
+ }
+
  private String formatLocation(Location loc) {
   return String.format("%s, %s, %s", loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
  }
@@ -484,6 +672,101 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
   }
  }
 
+ private void sendStats(CommandSender sender) {
+  PlayerSessionManager sessions = plugin.getSessionManager();
+  long hits = sessions.getZoneCacheHits();
+  long misses = sessions.getZoneCacheMisses();
+  long lookups = hits + misses;
+  double hitRate = lookups == 0 ? 0.0 : hits * 100.0 / lookups;
+
+  sender.sendMessage(settings.getMessage("command.stats-header"));
+  sender.sendMessage(Component.text("  Zone cache: ").append(Component.text(
+          String.format("%,d hits / %,d lookups (%.1f%% hit rate)", hits, lookups, hitRate)).color(NamedTextColor.GRAY)));
+  long checks = zoneManager.getRelevanceChecks();
+  long rejections = zoneManager.getRelevanceRejections();
+  sender.sendMessage(Component.text("  Pre-filter: ").append(Component.text(
+          String.format("%,d of %,d actions skipped (%.1f%%)", rejections, checks, checks == 0 ? 0.0 : rejections * 100.0 / checks)).color(NamedTextColor.GRAY)));
+  sender.sendMessage(Component.text("  Zones: ").append(Component.text(
+          String.format("%,d active, %,d dormant in unloaded worlds", zoneManager.getAllZones().size(), zoneManager.getDormantCount())).color(NamedTextColor.GRAY)));
+
+  CoreProtectQueue coreProtectQueue = plugin.getCoreProtectQueue();
+  if (coreProtectQueue != null) {
+   sender.sendMessage(Component.text("  CoreProtect queue: ").append(Component.text(
+           String.format("%,d enqueued, %,d flushed, %,d dropped, %,d pending",
+                   coreProtectQueue.getEnqueued(), coreProtectQueue.getFlushed(), coreProtectQueue.getDropped(), coreProtectQueue.getPending())).color(NamedTextColor.GRAY)));
+  }
+  AuditLogger auditLogger = plugin.getAuditLogger();
+  if (auditLogger != null) {
+   sender.sendMessage(Component.text("  Audit log: ").append(Component.text(
+           String.format("%,d pending, %,d dropped", auditLogger.getPending(), auditLogger.getDropped())).color(NamedTextColor.GRAY)));
+  }
+  // Main-thread cost per event type; the histograms are copied, so this never holds up the handlers
+  plugin.getMetrics().report().forEach((label, value) ->
+          sender.sendMessage(Component.text("  " + label + ": ").append(Component.text(value).color(NamedTextColor.GRAY))));
+ }
+
+ private void sendTopZones(CommandSender sender, int limit) {
+  Map<String, Zone> zones = zoneManager.getSnapshot().getZonesByName();
+  ZoneHitCounters hits = plugin.getMetrics().getZoneHits();
+  // Finding the zones without hits visits every zone, so it is kept off the main thread
+  Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+   List<ZoneHitCounters.ZoneReport> top = hits.top(zones, limit);
+   List<String> unhit = hits.unhit(zones.keySet());
+   List<Component> lines = new ArrayList<>();
+   if (top.isEmpty()) {
+    lines.add(settings.getMessage("command.top-empty"));
+   } else {
+    lines.add(settings.getMessage("command.top-header", "count", String.valueOf(top.size()),
+            "total", String.valueOf(zones.size() - unhit.size())));
+    for (int i = 0; i < top.size(); i++) {
+     lines.add(formatZoneHits(i + 1, top.get(i)));
+    }
+   }
+   if (!unhit.isEmpty()) {
+    lines.add(settings.getMessage("command.top-unhit", "count", String.valueOf(unhit.size())));
+    String names = String.join(", ", unhit.subList(0, Math.min(limit, unhit.size())));
+    if (unhit.size() > limit) {
+     names += String.format(" and %,d more", unhit.size() - limit);
+    }
+    lines.add(Component.text("  " + names).color(NamedTextColor.GRAY));
+   }
+   Bukkit.getScheduler().runTask(plugin, () -> lines.forEach(sender::sendMessage));
+  });
+ }
+
+ private Component formatZoneHits(int rank, ZoneHitCounters.ZoneReport report) {
+  StringBuilder details = new StringBuilder(String.format("%,d (%,d deny, %,d alert, %,d allow)", report.total(),
+          report.count(Zone.Action.DENY), report.count(Zone.Action.ALERT), report.count(Zone.Action.ALLOW)));
+  // The three most used materials
+  String separator = " - ";
+  for (Map.Entry<Material, Long> material : report.byMaterial().subList(0, Math.min(3, report.byMaterial().size()))) {
+   details.append(separator).append(String.format("%s %,d", material.getKey().name().toLowerCase(), material.getValue()));
+   separator = ", ";
+  }
+  if (report.otherMaterials() > 0) {
+   details.append(separator).append(String.format("other %,d", report.otherMaterials()));
+  }
+  return Component.text("  " + rank + ". " + report.name() + ": ").append(Component.text(details.toString()).color(NamedTextColor.GRAY));
+ }
+
+ private void sendMemoryReport(CommandSender sender) {
+  int zoneCount = zoneManager.getAllZones().size();
+  int ruleSetCount = zoneManager.getRuleSetRegistry().size();
+  long perRuleSet = RuleSetRegistry.estimateUnsharedRuleSetBytes();
+  // Without interning every zone would carry its own rule set
+  long saved = Math.max(0L, (long) zoneCount - ruleSetCount) * perRuleSet;
+
+  sender.sendMessage(settings.getMessage("command.memory-header"));
+  sender.sendMessage(Component.text("  Zones: ").append(Component.text(String.valueOf(zoneCount)).color(NamedTextColor.GRAY)));
+  sender.sendMessage(Component.text("  Distinct rule sets: ").append(Component.text(String.valueOf(ruleSetCount)).color(NamedTextColor.GRAY)));
+  sender.sendMessage(Component.text("  Est. size per rule set: ").append(Component.text(formatBytes(perRuleSet)).color(NamedTextColor.GRAY)));
+  sender.sendMessage(Component.text("  Est. saved by sharing: ").append(Component.text(formatBytes(saved)).color(NamedTextColor.GRAY)));
+ }
+
+ private String formatBytes(long bytes) {
+  return String.format("%,d bytes (%.1f MB)", bytes, bytes / (1024.0 * 1024.0));
+ }
+
  private String formatVector(Vector vec) {
   return String.format("%d, %d, %d", vec.getBlockX(), vec.getBlockY(), vec.getBlockZ());
  }
@@ -500,6 +783,12 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
   sender.sendMessage(settings.getMessage("command.help.removeaction"));
   sender.sendMessage(settings.getMessage("command.help.defaultaction"));
   sender.sendMessage(settings.getMessage("command.help.banned"));
+  sender.sendMessage(settings.getMessage("command.help.stats"));
+  sender.sendMessage(settings.getMessage("command.help.top"));
+  sender.sendMessage(settings.getMessage("command.help.memory"));
+  sender.sendMessage(settings.getMessage("command.help.notify"));
+  sender.sendMessage(settings.getMessage("command.help.migrate"));
+  sender.sendMessage(settings.getMessage("command.help.import"));
   sender.sendMessage(settings.getMessage("command.help.reload"));
  }
 
@@ -535,7 +824,7 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
  @Override
  public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
   List<String> completions = new ArrayList<>();
-  List<String> commands = ImmutableList.of("wand", "pos1", "pos2", "define", "remove", "list", "info", "defaultaction", "setaction", "removeaction", "banned", "reload");
+  List<String> commands = ImmutableList.of("wand", "pos1", "pos2", "define", "remove", "list", "info", "defaultaction", "setaction", "removeaction", "banned", "stats", "top", "memory", "notify", "migrate", "import", "reload");
 
   if (args.length == 1) {
    StringUtil.copyPartialMatches(args[0], commands, completions);
@@ -544,6 +833,15 @@ public class AutoWarnCommand implements CommandExecutor, TabCompleter {
     case "remove", "info", "defaultaction", "setaction", "removeaction" ->
             StringUtil.copyPartialMatches(args[1], zoneManager.getAllZones().stream().map(Zone::getName).collect(Collectors.toList()), completions);
     case "banned" -> StringUtil.copyPartialMatches(args[1], ImmutableList.of("add", "remove", "list"), completions);
+    case "notify" -> StringUtil.copyPartialMatches(args[1], ImmutableList.of("on", "off"), completions);
+    case "migrate" -> StringUtil.copyPartialMatches(args[1], ImmutableList.of("yaml", "sqlite"), completions);
+    case "stats" -> StringUtil.copyPartialMatches(args[1], ImmutableList.of("reset"), completions);
+    case "import" -> {
+     String[] files = plugin.getDataFolder().list((folder, name) -> ZoneImportReader.Format.of(Path.of(name)) != null);
+     if (files != null) {
+      StringUtil.copyPartialMatches(args[1], Arrays.asList(files), completions);
+     }
+    }
    }
   } else if (args.length == 3) {
    switch (args[0].toLowerCase()) {
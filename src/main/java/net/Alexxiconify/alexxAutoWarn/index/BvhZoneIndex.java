@@ -0,0 +1,269 @@
+package net.alexxiconify.alexxAutoWarn.index;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A per-world bounding-volume hierarchy over the zones' bounding boxes.
+ * Unlike the chunk grid, a zone occupies a single leaf slot no matter how large it is,
+ * so world-sized zones cost the same as small ones. Point queries descend only into
+ * nodes whose box contains the point, which is O(log n) for non-overlapping layouts.
+ * <p>
+ * Each world's tree is immutable once built and is rebuilt in full when that world's zones change.
+ * Zone edits are rare administrative actions, so this keeps the structure simple; copies share
+ * the trees of every world they do not modify.
+ */
+public final class BvhZoneIndex implements ZoneIndex {
+
+ private final Map<UUID, List<Zone>> zonesByWorld = new HashMap<>();
+ private Map<UUID, Tree> trees = Map.of();
+
+ @Override
+ public void add(@NotNull Zone zone) {
+  List<Zone> worldZones = zonesByWorld.computeIfAbsent(zone.getWorldId(), key -> new ArrayList<>());
+  worldZones.add(zone);
+  rebuild(zone.getWorldId());
+ }
+
+ @Override
+ public void remove(@NotNull Zone zone) {
+  List<Zone> worldZones = zonesByWorld.get(zone.getWorldId());
+  if (worldZones == null || !worldZones.removeIf(existing -> existing == zone)) {
+   return;
+  }
+  if (worldZones.isEmpty()) {
+   zonesByWorld.remove(zone.getWorldId());
+  }
+  rebuild(zone.getWorldId());
+ }
+
+ /**
+  * {@inheritDoc}
+  * <p>
+  * Each affected world's tree is rebuilt once, rather than once per zone.
+  */
+ @Override
+ public void update(@NotNull Collection<Zone> removed, @NotNull Collection<Zone> added) {
+  Set<UUID> changed = new HashSet<>();
+  if (!removed.isEmpty()) {
+   Set<Zone> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+   gone.addAll(removed);
+   for (Zone zone : removed) {
+    changed.add(zone.getWorldId());
+   }
+   for (UUID worldId : changed) {
+    List<Zone> worldZones = zonesByWorld.get(worldId);
+    if (worldZones != null && worldZones.removeIf(gone::contains) && worldZones.isEmpty()) {
+     zonesByWorld.remove(worldId);
+    }
+   }
+  }
+  for (Zone zone : added) {
+   zonesByWorld.computeIfAbsent(zone.getWorldId(), key -> new ArrayList<>()).add(zone);
+   changed.add(zone.getWorldId());
+  }
+  changed.forEach(this::rebuild);
+ }
+
+ @Override
+ public void clear() {
+  zonesByWorld.clear();
+  trees = Map.of();
+ }
+
+ @Override
+ public void bulkLoad(@NotNull Collection<Zone> zones) {
+  zonesByWorld.clear();
+  for (Zone zone : zones) {
+   zonesByWorld.computeIfAbsent(zone.getWorldId(), key -> new ArrayList<>()).add(zone);
+  }
+  Map<UUID, Tree> built = new HashMap<>();
+  zonesByWorld.forEach((worldId, worldZones) -> built.put(worldId, new Tree(worldZones)));
+  trees = Map.copyOf(built);
+ }
+
+ @NotNull
+ @Override
+ public ZoneIndex copy() {
+  BvhZoneIndex copy = new BvhZoneIndex();
+  zonesByWorld.forEach((worldId, worldZones) -> copy.zonesByWorld.put(worldId, new ArrayList<>(worldZones)));
+  copy.trees = trees; // Immutable, replaced rather than modified
+  return copy;
+ }
+
+ @Nullable
+ @Override
+ public Zone find(@NotNull UUID worldId, int x, int y, int z) {
+  Tree tree = trees.get(worldId);
+  if (tree == null) {
+   return null;
+  }
+  return tree.find(0, worldId, x, y, z);
+ }
+
+ @Override
+ public boolean isSoleZoneInChunk(@NotNull Zone zone, int chunkX, int chunkZ) {
+  Tree tree = trees.get(zone.getWorldId());
+  return tree == null || !tree.overlapsOther(0, zone, chunkX << 4, (chunkX << 4) + 15, chunkZ << 4, (chunkZ << 4) + 15);
+ }
+
+ /**
+  * Rebuilds one world's tree and replaces the tree map.
+  */
+ private void rebuild(UUID worldId) {
+  Map<UUID, Tree> updated = new HashMap<>(trees);
+  List<Zone> worldZones = zonesByWorld.get(worldId);
+  if (worldZones == null) {
+   updated.remove(worldId);
+  } else {
+   updated.put(worldId, new Tree(worldZones));
+  }
+  trees = Map.copyOf(updated);
+ }
+
+ /**
+  * An immutable, array-backed BVH for the zones of a single world.
+  * Nodes are laid out in pre-order: an inner node's left child is always the next node,
+  * so only the right child index has to be stored.
+  */
+ private static final class Tree {
+
+  private static final int LEAF_SIZE = 4;
+
+  private final Zone[] zones;
+  private final int[] minX, minY, minZ, maxX, maxY, maxZ;
+  private final int[] rightChild; // Inner nodes only
+  private final int[] leafStart;  // Leaves only: first index into 'zones'
+  private final int[] leafCount;  // 0 for inner nodes
+  private int nodeCount;          // Only written during construction
+
+  Tree(@NotNull List<Zone> source) {
+   this.zones = source.toArray(new Zone[0]);
+   int capacity = Math.max(1, 2 * zones.length); // A binary tree with n leaves has fewer than 2n nodes
+   this.minX = new int[capacity];
+   this.minY = new int[capacity];
+   this.minZ = new int[capacity];
+   this.maxX = new int[capacity];
+   this.maxY = new int[capacity];
+   this.maxZ = new int[capacity];
+   this.rightChild = new int[capacity];
+   this.leafStart = new int[capacity];
+   this.leafCount = new int[capacity];
+   build(0, zones.length);
+  }
+
+  /**
+   * Recursively builds the subtree for {@code zones[from, to)} with a median split
+   * along the axis where the zone centres are spread the widest.
+   */
+  private int build(int from, int to) {
+   int node = nodeCount++;
+   int nMinX = Integer.MAX_VALUE, nMinY = Integer.MAX_VALUE, nMinZ = Integer.MAX_VALUE;
+   int nMaxX = Integer.MIN_VALUE, nMaxY = Integer.MIN_VALUE, nMaxZ = Integer.MIN_VALUE;
+   long cMinX = Long.MAX_VALUE, cMinY = Long.MAX_VALUE, cMinZ = Long.MAX_VALUE;
+   long cMaxX = Long.MIN_VALUE, cMaxY = Long.MIN_VALUE, cMaxZ = Long.MIN_VALUE;
+   for (int i = from; i < to; i++) {
+    Zone zone = zones[i];
+    int zMinX = zone.getMinX(), zMinY = zone.getMinY(), zMinZ = zone.getMinZ();
+    int zMaxX = zone.getMaxX(), zMaxY = zone.getMaxY(), zMaxZ = zone.getMaxZ();
+    nMinX = Math.min(nMinX, zMinX);
+    nMinY = Math.min(nMinY, zMinY);
+    nMinZ = Math.min(nMinZ, zMinZ);
+    nMaxX = Math.max(nMaxX, zMaxX);
+    nMaxY = Math.max(nMaxY, zMaxY);
+    nMaxZ = Math.max(nMaxZ, zMaxZ);
+    // Centres are kept doubled (min + max) to stay in integer space
+    cMinX = Math.min(cMinX, (long) zMinX + zMaxX);
+    cMaxX = Math.max(cMaxX, (long) zMinX + zMaxX);
+    cMinY = Math.min(cMinY, (long) zMinY + zMaxY);
+    cMaxY = Math.max(cMaxY, (long) zMinY + zMaxY);
+    cMinZ = Math.min(cMinZ, (long) zMinZ + zMaxZ);
+    cMaxZ = Math.max(cMaxZ, (long) zMinZ + zMaxZ);
+   }
+   minX[node] = nMinX;
+   minY[node] = nMinY;
+   minZ[node] = nMinZ;
+   maxX[node] = nMaxX;
+   maxY[node] = nMaxY;
+   maxZ[node] = nMaxZ;
+
+   if (to - from <= LEAF_SIZE) {
+    leafStart[node] = from;
+    leafCount[node] = to - from;
+    return node;
+   }
+
+   long spreadX = cMaxX - cMinX;
+   long spreadY = cMaxY - cMinY;
+   long spreadZ = cMaxZ - cMinZ;
+   Comparator<Zone> byCentre;
+   if (spreadX >= spreadY && spreadX >= spreadZ) {
+    byCentre = Comparator.comparingLong(zone -> (long) zone.getMinX() + zone.getMaxX());
+   } else if (spreadZ >= spreadY) {
+    byCentre = Comparator.comparingLong(zone -> (long) zone.getMinZ() + zone.getMaxZ());
+   } else {
+    byCentre = Comparator.comparingLong(zone -> (long) zone.getMinY() + zone.getMaxY());
+   }
+   Arrays.sort(zones, from, to, byCentre);
+
+   int mid = (from + to) >>> 1;
+   build(from, mid); // Left child is always node + 1
+   rightChild[node] = build(mid, to);
+   return node;
+  }
+
+  /**
+   * Tells whether any zone other than the given one overlaps the column between the given block bounds.
+   */
+  boolean overlapsOther(int node, @NotNull Zone zone, int fromX, int toX, int fromZ, int toZ) {
+   if (toX < minX[node] || fromX > maxX[node] || toZ < minZ[node] || fromZ > maxZ[node]) {
+    return false;
+   }
+   int count = leafCount[node];
+   if (count > 0) {
+    int start = leafStart[node];
+    for (int i = start; i < start + count; i++) {
+     Zone other = zones[i];
+     if (other != zone && other.getMinX() <= toX && other.getMaxX() >= fromX && other.getMinZ() <= toZ && other.getMaxZ() >= fromZ) {
+      return true;
+     }
+    }
+    return false;
+   }
+   return overlapsOther(node + 1, zone, fromX, toX, fromZ, toZ) || overlapsOther(rightChild[node], zone, fromX, toX, fromZ, toZ);
+  }
+
+  @Nullable
+  Zone find(int node, @NotNull UUID worldId, int x, int y, int z) {
+   if (x < minX[node] || x > maxX[node] || y < minY[node] || y > maxY[node] || z < minZ[node] || z > maxZ[node]) {
+    return null;
+   }
+   int count = leafCount[node];
+   if (count > 0) {
+    int start = leafStart[node];
+    for (int i = start; i < start + count; i++) {
+     if (zones[i].contains(worldId, x, y, z)) {
+      return zones[i];
+     }
+    }
+    return null;
+   }
+   Zone hit = find(node + 1, worldId, x, y, z);
+   return hit != null ? hit : find(rightChild[node], worldId, x, y, z);
+  }
+ }
+}
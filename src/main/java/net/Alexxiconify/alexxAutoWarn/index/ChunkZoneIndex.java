@@ -0,0 +1,231 @@
+package net.alexxiconify.alexxAutoWarn.index;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A per-world spatial index that registers every zone in each chunk column it overlaps.
+ * A point lookup only tests the zones sharing the queried chunk instead of every loaded zone.
+ * <p>
+ * Zones spanning more than {@link #MAX_CHUNKS_PER_ZONE} chunk columns, such as world-sized zones, are not
+ * registered per chunk: a zone up to the world border would need about 10^13 entries. They are kept in a
+ * short per-world list instead, which is tested after the zones of the queried chunk.
+ * <p>
+ * Copies share their per-world chunk maps with the original and clone a world's map
+ * the first time they modify it, so deriving a new index for a single-zone edit stays cheap.
+ */
+public final class ChunkZoneIndex implements ZoneIndex {
+
+ /**
+  * The most chunk columns a zone is registered in; larger zones go to the per-world list of oversized zones.
+  */
+ static final int MAX_CHUNKS_PER_ZONE = 4_096; // 64 x 64 chunks, or 1024 x 1024 blocks
+
+ private final Map<UUID, LongZoneMap> worlds;
+ private final Set<UUID> ownedWorlds; // Worlds whose chunk map this instance may modify in place
+ private final Map<UUID, Zone[]> oversized; // Arrays are replaced, never modified, so copies can share them
+
+ public ChunkZoneIndex() {
+  this.worlds = new HashMap<>();
+  this.ownedWorlds = new HashSet<>();
+  this.oversized = new HashMap<>();
+ }
+
+ private ChunkZoneIndex(@NotNull ChunkZoneIndex source) {
+  this.worlds = new HashMap<>(source.worlds);
+  this.ownedWorlds = new HashSet<>(); // Every map is shared with the source until first written
+  this.oversized = new HashMap<>(source.oversized);
+ }
+
+ /**
+  * Registers a zone in every chunk its bounding box overlaps, or in the oversized list of its world.
+  *
+  * @param zone The zone to add.
+  */
+ @Override
+ public void add(@NotNull Zone zone) {
+  if (isOversized(zone)) {
+   Zone[] zones = oversized.getOrDefault(zone.getWorldId(), new Zone[0]);
+   Zone[] grown = Arrays.copyOf(zones, zones.length + 1);
+   grown[zones.length] = zone;
+   oversized.put(zone.getWorldId(), grown);
+   return;
+  }
+  LongZoneMap chunks = writableChunks(zone.getWorldId());
+  int minChunkX = zone.getMinX() >> 4;
+  int maxChunkX = zone.getMaxX() >> 4;
+  int minChunkZ = zone.getMinZ() >> 4;
+  int maxChunkZ = zone.getMaxZ() >> 4;
+  for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+   for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+    chunks.add(chunkKey(chunkX, chunkZ), zone);
+   }
+  }
+ }
+
+ /**
+  * Unregisters a zone from every chunk its bounding box overlaps.
+  *
+  * @param zone The exact zone instance that was previously added.
+  */
+ @Override
+ public void remove(@NotNull Zone zone) {
+  if (isOversized(zone)) {
+   Zone[] zones = oversized.get(zone.getWorldId());
+   if (zones != null) {
+    Zone[] remaining = Arrays.stream(zones).filter(other -> other != zone).toArray(Zone[]::new);
+    if (remaining.length == 0) {
+     oversized.remove(zone.getWorldId());
+    } else {
+     oversized.put(zone.getWorldId(), remaining);
+    }
+   }
+   return;
+  }
+  if (!worlds.containsKey(zone.getWorldId())) {
+   return;
+  }
+  LongZoneMap chunks = writableChunks(zone.getWorldId());
+  int minChunkX = zone.getMinX() >> 4;
+  int maxChunkX = zone.getMaxX() >> 4;
+  int minChunkZ = zone.getMinZ() >> 4;
+  int maxChunkZ = zone.getMaxZ() >> 4;
+  for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+   for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+    chunks.remove(chunkKey(chunkX, chunkZ), zone);
+   }
+  }
+  if (chunks.size() == 0) {
+   worlds.remove(zone.getWorldId());
+   ownedWorlds.remove(zone.getWorldId());
+  }
+ }
+
+ /**
+  * Removes all zones from the index.
+  */
+ @Override
+ public void clear() {
+  worlds.clear();
+  ownedWorlds.clear();
+  oversized.clear();
+ }
+
+ /**
+  * Replaces the index contents in one pass.
+  *
+  * @param zones The zones to index.
+  */
+ @Override
+ public void bulkLoad(@NotNull Collection<Zone> zones) {
+  clear();
+  zones.forEach(this::add);
+ }
+
+ @NotNull
+ @Override
+ public ZoneIndex copy() {
+  return new ChunkZoneIndex(this);
+ }
+
+ /**
+  * Finds the first zone registered in the position's chunk that contains the position,
+  * falling back to the oversized zones of the world.
+  *
+  * @param worldId The UUID of the block's world.
+  * @param x       The block X coordinate.
+  * @param y       The block Y coordinate.
+  * @param z       The block Z coordinate.
+  * @return The containing zone, or null if there is none.
+  */
+ @Nullable
+ @Override
+ public Zone find(@NotNull UUID worldId, int x, int y, int z) {
+  LongZoneMap chunks = worlds.get(worldId);
+  if (chunks != null) {
+   Zone[] candidates = chunks.get(chunkKey(x >> 4, z >> 4));
+   if (candidates != null) {
+    for (Zone zone : candidates) {
+     if (zone.contains(worldId, x, y, z)) {
+      return zone;
+     }
+    }
+   }
+  }
+  if (oversized.isEmpty()) {
+   return null; // The common case; no second lookup
+  }
+  Zone[] large = oversized.get(worldId);
+  if (large != null) {
+   for (Zone zone : large) {
+    if (zone.contains(worldId, x, y, z)) {
+     return zone;
+    }
+   }
+  }
+  return null;
+ }
+
+ @Override
+ public boolean isSoleZoneInChunk(@NotNull Zone zone, int chunkX, int chunkZ) {
+  LongZoneMap chunks = worlds.get(zone.getWorldId());
+  Zone[] candidates = chunks != null ? chunks.get(chunkKey(chunkX, chunkZ)) : null;
+  if (candidates != null) {
+   for (Zone other : candidates) {
+    if (other != zone) {
+     return false;
+    }
+   }
+  }
+  Zone[] large = oversized.get(zone.getWorldId());
+  if (large != null) {
+   for (Zone other : large) {
+    if (other != zone && other.overlapsChunk(chunkX, chunkZ)) {
+     return false;
+    }
+   }
+  }
+  return true;
+ }
+
+ private static boolean isOversized(@NotNull Zone zone) {
+  long columns = ((long) (zone.getMaxX() >> 4) - (zone.getMinX() >> 4) + 1) * ((long) (zone.getMaxZ() >> 4) - (zone.getMinZ() >> 4) + 1);
+  return columns > MAX_CHUNKS_PER_ZONE;
+ }
+
+ /**
+  * Gets the chunk map for a world that this instance is allowed to modify,
+  * cloning a map still shared with the index this one was copied from.
+  */
+ @NotNull
+ private LongZoneMap writableChunks(@NotNull UUID worldId) {
+  LongZoneMap chunks = worlds.get(worldId);
+  if (chunks != null && ownedWorlds.contains(worldId)) {
+   return chunks;
+  }
+  chunks = chunks == null ? new LongZoneMap() : chunks.copy();
+  worlds.put(worldId, chunks);
+  ownedWorlds.add(worldId);
+  return chunks;
+ }
+
+ /**
+  * Packs chunk coordinates into a single long, using the same layout as Paper's chunk keys.
+  *
+  * @param chunkX The chunk X coordinate.
+  * @param chunkZ The chunk Z coordinate.
+  * @return The packed key.
+  */
+ public static long chunkKey(int chunkX, int chunkZ) {
+  return (chunkX & 0xFFFFFFFFL) | ((chunkZ & 0xFFFFFFFFL) << 32);
+ }
+}
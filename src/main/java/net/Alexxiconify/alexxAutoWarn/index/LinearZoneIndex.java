@@ -0,0 +1,82 @@
+package net.alexxiconify.alexxAutoWarn.index;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The original lookup strategy: every query tests every zone.
+ * Kept as a baseline so the other index types can be compared against it.
+ */
+public final class LinearZoneIndex implements ZoneIndex {
+
+ private static final Zone[] EMPTY = new Zone[0];
+
+ // Replaced on every change and never mutated, so copies can share it
+ private Zone[] zones = EMPTY;
+
+ @Override
+ public void add(@NotNull Zone zone) {
+  Zone[] current = zones;
+  Zone[] grown = Arrays.copyOf(current, current.length + 1);
+  grown[current.length] = zone;
+  zones = grown;
+ }
+
+ @Override
+ public void remove(@NotNull Zone zone) {
+  Zone[] current = zones;
+  for (int i = 0; i < current.length; i++) {
+   if (current[i] == zone) {
+    Zone[] shrunk = new Zone[current.length - 1];
+    System.arraycopy(current, 0, shrunk, 0, i);
+    System.arraycopy(current, i + 1, shrunk, i, current.length - i - 1);
+    zones = shrunk;
+    return;
+   }
+  }
+ }
+
+ @Override
+ public void clear() {
+  zones = EMPTY;
+ }
+
+ @Override
+ public void bulkLoad(@NotNull Collection<Zone> zones) {
+  this.zones = zones.toArray(EMPTY);
+ }
+
+ @NotNull
+ @Override
+ public ZoneIndex copy() {
+  LinearZoneIndex copy = new LinearZoneIndex();
+  copy.zones = zones;
+  return copy;
+ }
+
+ @Override
+ public boolean isSoleZoneInChunk(@NotNull Zone zone, int chunkX, int chunkZ) {
+  for (Zone other : zones) {
+   if (other != zone && other.getWorldId().equals(zone.getWorldId()) && other.overlapsChunk(chunkX, chunkZ)) {
+    return false;
+   }
+  }
+  return true;
+ }
+
+ @Nullable
+ @Override
+ public Zone find(@NotNull UUID worldId, int x, int y, int z) {
+  for (Zone zone : zones) {
+   if (zone.contains(worldId, x, y, z)) {
+    return zone;
+   }
+  }
+  return null;
+ }
+}
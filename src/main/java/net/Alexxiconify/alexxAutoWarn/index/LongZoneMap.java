@@ -0,0 +1,189 @@
+package net.alexxiconify.alexxAutoWarn.index;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A minimal open-addressing hash map from primitive {@code long} keys to small {@link Zone} arrays.
+ * Used by the chunk index so lookups never box the chunk key.
+ * This class is not thread-safe; callers are responsible for synchronization.
+ */
+final class LongZoneMap {
+
+ private static final int MIN_CAPACITY = 16;
+
+ private long[] keys;
+ private Zone[][] values; // A null slot marks an empty bucket, so key 0 stays usable
+ private int mask;
+ private int size;
+
+ LongZoneMap() {
+  allocate(MIN_CAPACITY);
+ }
+
+ /**
+  * Creates an independent copy. Bucket arrays are shared, which is safe because they are never mutated.
+  *
+  * @return The copy.
+  */
+ @NotNull
+ LongZoneMap copy() {
+  LongZoneMap copy = new LongZoneMap();
+  copy.keys = keys.clone();
+  copy.values = values.clone();
+  copy.mask = mask;
+  copy.size = size;
+  return copy;
+ }
+
+ /**
+  * Gets the zones registered under the given key.
+  *
+  * @param key The packed chunk key.
+  * @return The zone array, or null if the key is absent. The array must not be modified.
+  */
+ @Nullable
+ Zone[] get(long key) {
+  int slot = mix(key) & mask;
+  Zone[] bucket;
+  while ((bucket = values[slot]) != null) {
+   if (keys[slot] == key) {
+    return bucket;
+   }
+   slot = (slot + 1) & mask;
+  }
+  return null;
+ }
+
+ /**
+  * Appends a zone to the bucket for the given key, creating the bucket if needed.
+  *
+  * @param key  The packed chunk key.
+  * @param zone The zone to register.
+  */
+ void add(long key, @NotNull Zone zone) {
+  int slot = mix(key) & mask;
+  Zone[] bucket;
+  while ((bucket = values[slot]) != null) {
+   if (keys[slot] == key) {
+    // Buckets are replaced, never mutated, so a handed-out array stays stable
+    Zone[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+    grown[bucket.length] = zone;
+    values[slot] = grown;
+    return;
+   }
+   slot = (slot + 1) & mask;
+  }
+  keys[slot] = key;
+  values[slot] = new Zone[]{zone};
+  if (++size * 2 > values.length) { // Keep the load factor at or below 0.5
+   rehash(values.length << 1);
+  }
+ }
+
+ /**
+  * Removes a zone (by identity) from the bucket for the given key.
+  * The bucket itself is dropped once it becomes empty.
+  *
+  * @param key  The packed chunk key.
+  * @param zone The zone instance to unregister.
+  */
+ void remove(long key, @NotNull Zone zone) {
+  int slot = mix(key) & mask;
+  Zone[] bucket;
+  while ((bucket = values[slot]) != null) {
+   if (keys[slot] == key) {
+    int index = -1;
+    for (int i = 0; i < bucket.length; i++) {
+     if (bucket[i] == zone) {
+      index = i;
+      break;
+     }
+    }
+    if (index < 0) {
+     return;
+    }
+    if (bucket.length == 1) {
+     deleteSlot(slot);
+    } else {
+     Zone[] shrunk = new Zone[bucket.length - 1];
+     System.arraycopy(bucket, 0, shrunk, 0, index);
+     System.arraycopy(bucket, index + 1, shrunk, index, bucket.length - index - 1);
+     values[slot] = shrunk;
+    }
+    return;
+   }
+   slot = (slot + 1) & mask;
+  }
+ }
+
+ /**
+  * @return The number of non-empty buckets.
+  */
+ int size() {
+  return size;
+ }
+
+ /**
+  * Removes every bucket and shrinks the table back to its initial capacity.
+  */
+ void clear() {
+  allocate(MIN_CAPACITY);
+  size = 0;
+ }
+
+ /**
+  * Backward-shift deletion for linear probing, so no tombstones are ever needed.
+  */
+ private void deleteSlot(int slot) {
+  int gap = slot;
+  int next = slot;
+  while (true) {
+   next = (next + 1) & mask;
+   if (values[next] == null) {
+    break;
+   }
+   int home = mix(keys[next]) & mask;
+   // Move the entry into the gap if the gap lies on its probe path
+   if (((next - home) & mask) >= ((next - gap) & mask)) {
+    keys[gap] = keys[next];
+    values[gap] = values[next];
+    gap = next;
+   }
+  }
+  keys[gap] = 0L;
+  values[gap] = null;
+  size--;
+ }
+
+ private void rehash(int capacity) {
+  long[] oldKeys = keys;
+  Zone[][] oldValues = values;
+  allocate(capacity);
+  for (int i = 0; i < oldValues.length; i++) {
+   if (oldValues[i] != null) {
+    int slot = mix(oldKeys[i]) & mask;
+    while (values[slot] != null) {
+     slot = (slot + 1) & mask;
+    }
+    keys[slot] = oldKeys[i];
+    values[slot] = oldValues[i];
+   }
+  }
+ }
+
+ private void allocate(int capacity) {
+  this.keys = new long[capacity];
+  this.values = new Zone[capacity][];
+  this.mask = capacity - 1;
+ }
+
+ private static int mix(long key) {
+  // Fibonacci hashing spreads neighbouring chunk coordinates across the table
+  long h = key * 0x9E3779B97F4A7C15L;
+  return (int) (h ^ (h >>> 32));
+ }
+}
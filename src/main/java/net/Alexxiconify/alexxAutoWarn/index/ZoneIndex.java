@@ -0,0 +1,115 @@
+package net.alexxiconify.alexxAutoWarn.index;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * A spatial lookup structure that answers "which zone contains this point?".
+ * An index is populated by a single writer and becomes read-only once it is published in a zone snapshot,
+ * which lets {@link #find(UUID, int, int, int)} run without any locking. Updates are applied to a {@link #copy()}.
+ */
+public interface ZoneIndex {
+
+ /**
+  * Adds a zone to the index.
+  *
+  * @param zone The zone to add.
+  */
+ void add(@NotNull Zone zone);
+
+ /**
+  * Removes a zone from the index.
+  *
+  * @param zone The exact zone instance that was previously added.
+  */
+ void remove(@NotNull Zone zone);
+
+ /**
+  * Removes all zones from the index.
+  */
+ void clear();
+
+ /**
+  * Removes and adds many zones in one step, for batch changes such as imports.
+  * Implementations that rebuild structure on every change should override this to rebuild once.
+  *
+  * @param removed The exact zone instances to remove.
+  * @param added   The zones to add afterwards.
+  */
+ default void update(@NotNull Collection<Zone> removed, @NotNull Collection<Zone> added) {
+  removed.forEach(this::remove);
+  added.forEach(this::add);
+ }
+
+ /**
+  * Replaces the entire contents of the index in one pass.
+  * Implementations may use this to build a better layout than repeated {@link #add(Zone)} calls would.
+  *
+  * @param zones The zones to index.
+  */
+ void bulkLoad(@NotNull Collection<Zone> zones);
+
+ /**
+  * Creates an independent index with the same contents, to which further updates can be applied
+  * without affecting this one. Implementations should share unchanged structure where possible.
+  *
+  * @return The copy.
+  */
+ @NotNull
+ ZoneIndex copy();
+
+ /**
+  * Finds the first indexed zone that contains the given block position.
+  * Implementations must not allocate on this path.
+  *
+  * @param worldId The UUID of the block's world.
+  * @param x       The block X coordinate.
+  * @param y       The block Y coordinate.
+  * @param z       The block Z coordinate.
+  * @return The containing zone, or null if there is none.
+  */
+ @Nullable
+ Zone find(@NotNull UUID worldId, int x, int y, int z);
+
+ /**
+  * Tells whether a zone is the only indexed zone overlapping a chunk column of its world, so every position
+  * in that column resolves to it or to no zone. Lets callers reuse a lookup result within the column even
+  * where zones overlap. Called on cache misses, so it may cost as much as a lookup.
+  *
+  * @param zone   An indexed zone.
+  * @param chunkX The chunk X coordinate.
+  * @param chunkZ The chunk Z coordinate.
+  * @return true if no other zone overlaps the column.
+  */
+ boolean isSoleZoneInChunk(@NotNull Zone zone, int chunkX, int chunkZ);
+
+ /**
+  * The available index implementations, selectable through {@code settings.zone-index}.
+  */
+ enum Type {
+  LINEAR(LinearZoneIndex::new), // Plain scan over all zones, kept as a baseline for comparison
+  CHUNK(ChunkZoneIndex::new),   // Grid of chunk columns, best for many small zones
+  BVH(BvhZoneIndex::new);       // Bounding-volume hierarchy, best for very large or overlapping zones
+
+  private final Supplier<ZoneIndex> factory;
+
+  Type(Supplier<ZoneIndex> factory) {
+   this.factory = factory;
+  }
+
+  /**
+   * Creates a new, empty index of this type.
+   *
+   * @return The new index.
+   */
+  @NotNull
+  public ZoneIndex create() {
+   return factory.get();
+  }
+ }
+}
@@ -0,0 +1,50 @@
+package net.alexxiconify.alexxAutoWarn.listeners;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.managers.PlayerSessionManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Opens and closes per-player sessions as players join and leave, and refreshes
+ * permission-derived session state when a player changes world (per-world permissions)
+ * or when their permissions are recalculated.
+ */
+public class PlayerSessionListener implements Listener {
+
+ private final PlayerSessionManager sessionManager;
+
+ /**
+  * Constructor for PlayerSessionListener.
+  * @param plugin The main AlexxAutoWarn plugin instance.
+  */
+ public PlayerSessionListener(AlexxAutoWarn plugin) {
+  this.sessionManager = plugin.getSessionManager();
+ }
+
+ @EventHandler(priority = EventPriority.LOWEST) // Open as early as possible so other handlers see the session
+ public void onPlayerJoin(PlayerJoinEvent event) {
+  sessionManager.open(event.getPlayer());
+ }
+
+ @EventHandler(priority = EventPriority.MONITOR)
+ public void onPlayerQuit(PlayerQuitEvent event) {
+  sessionManager.close(event.getPlayer());
+ }
+
+ @EventHandler(priority = EventPriority.MONITOR)
+ public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+  sessionManager.refreshPermissions(event.getPlayer());
+ }
+
+ // Sent whenever the server resends the command list, which permission plugins and /op do after a permission change
+ @EventHandler(priority = EventPriority.MONITOR)
+ public void onPlayerCommandSend(PlayerCommandSendEvent event) {
+  sessionManager.refreshPermissions(event.getPlayer());
+ }
+}
@@ -0,0 +1,36 @@
+package net.alexxiconify.alexxAutoWarn.listeners;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.managers.ZoneManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Activates the zones of a world when it loads and releases them when it unloads,
+ * so zone memory and lookup cost only cover loaded worlds.
+ */
+public class WorldListener implements Listener {
+
+ private final ZoneManager zoneManager;
+
+ /**
+  * Constructor for WorldListener.
+  * @param plugin The main AlexxAutoWarn plugin instance.
+  */
+ public WorldListener(AlexxAutoWarn plugin) {
+  this.zoneManager = plugin.getZoneManager();
+ }
+
+ @EventHandler(priority = EventPriority.MONITOR)
+ public void onWorldLoad(WorldLoadEvent event) {
+  zoneManager.activateWorld(event.getWorld());
+ }
+
+ @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true) // A cancelled unload keeps the world loaded
+ public void onWorldUnload(WorldUnloadEvent event) {
+  zoneManager.deactivateWorld(event.getWorld());
+ }
+}
@@ -1,19 +1,24 @@
 package net.alexxiconify.alexxAutoWarn.listeners; // Consistent casing
 
 import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.audit.AuditLogger;
+import net.alexxiconify.alexxAutoWarn.audit.AuditRecord;
 import net.alexxiconify.alexxAutoWarn.commands.AutoWarnCommand;
+import net.alexxiconify.alexxAutoWarn.managers.AlertAggregator;
+import net.alexxiconify.alexxAutoWarn.managers.CoreProtectQueue;
+import net.alexxiconify.alexxAutoWarn.managers.PlayerSessionManager;
 import net.alexxiconify.alexxAutoWarn.managers.ZoneManager;
+import net.alexxiconify.alexxAutoWarn.managers.ZoneSnapshot;
+import net.alexxiconify.alexxAutoWarn.metrics.PluginMetrics;
+import net.alexxiconify.alexxAutoWarn.objects.ActionTable;
 import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import net.alexxiconify.alexxAutoWarn.utils.ContainerMaterials;
 import net.alexxiconify.alexxAutoWarn.utils.Settings;
-import net.coreprotect.CoreProtectAPI;
-import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
-import org.bukkit.Bukkit;
+import net.kyori.adventure.text.Component;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.block.Block;
-import org.bukkit.block.Container;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.EventHandler;
@@ -24,11 +29,12 @@ import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.player.PlayerBucketEmptyEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.util.Vector;
 
+import java.util.Collection;
 import java.util.logging.Level;
+import java.util.UUID;
 
 /**
  * Handles all event listeners for the AutoWarn plugin.
@@ -38,9 +44,14 @@ public class ZoneListener implements Listener {
 
  private final Settings settings;
  private final ZoneManager zoneManager;
+ private final PlayerSessionManager sessionManager;
+ private final AlertAggregator alertAggregator;
  private final AutoWarnCommand command; // This now holds the actual AutoWarnCommand instance
  private final NamespacedKey wandKey;
- private final CoreProtectAPI coreProtectAPI;
+ private final CoreProtectQueue coreProtectQueue; // Null when CoreProtect is not hooked
+ private final AuditLogger auditLogger; // Null when the audit log is disabled
+ private final ContainerMaterials containerMaterials; // Classified once, instead of a BlockState per right-click
+ private final PluginMetrics metrics;
 
  /**
   * Constructor for ZoneListener.
@@ -50,33 +61,52 @@ public class ZoneListener implements Listener {
  public ZoneListener(AlexxAutoWarn plugin, AutoWarnCommand autoWarnCommand) {
   this.settings = plugin.getSettings();
   this.zoneManager = plugin.getZoneManager();
-  this.coreProtectAPI = plugin.getCoreProtectAPI();
+  this.sessionManager = plugin.getSessionManager();
+  this.alertAggregator = plugin.getAlertAggregator();
+  this.coreProtectQueue = plugin.getCoreProtectQueue();
+  this.auditLogger = plugin.getAuditLogger();
+  this.containerMaterials = new ContainerMaterials(plugin.getLogger());
+  this.metrics = plugin.getMetrics();
   this.command = autoWarnCommand;
   this.wandKey = command.getWandKey(); // Get the NamespacedKey from AutoWarnCommand
  }
 
  @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
  public void onBlockPlace(BlockPlaceEvent event) {
-  handleAction(event.getPlayer(), event.getBlock().getLocation(), event.getBlock().getType(), event);
+  long start = metrics.startTimer();
+  handleAction(event.getPlayer(), event.getBlock(), event.getBlock().getType(), event);
+  metrics.recordEvent(PluginMetrics.Event.BLOCK_PLACE, start);
  }
 
  @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
  public void onPlayerBucketEmpty(PlayerBucketEmptyEvent event) {
+  long start = metrics.startTimer();
   Material placedMaterial = event.getBucket() == Material.LAVA_BUCKET ? Material.LAVA : Material.WATER;
-  handleAction(event.getPlayer(), event.getBlockClicked().getLocation(), placedMaterial, event);
+  handleAction(event.getPlayer(), event.getBlockClicked(), placedMaterial, event);
+  metrics.recordEvent(PluginMetrics.Event.BUCKET_EMPTY, start);
  }
 
  @EventHandler(priority = EventPriority.NORMAL) // Not ignoring cancelled to handle wand clicks
  public void onPlayerInteract(PlayerInteractEvent event) {
+  long start = metrics.startTimer();
+  handleInteract(event);
+  metrics.recordEvent(PluginMetrics.Event.INTERACT, start);
+ }
+
+ /**
+  * Handles wand selections and container access for an interaction.
+  * @param event The interaction.
+  */
+ private void handleInteract(PlayerInteractEvent event) {
   Player player = event.getPlayer();
   ItemStack handItem = event.getItem();
 
   // --- Wand Functionality ---
-  // Check if the item in hand is the AutoWarn wand
-  if (handItem != null && handItem.hasItemMeta()) {
-   ItemMeta meta = handItem.getItemMeta();
+  // Check if the item in hand is the AutoWarn wand. The material check rejects almost every item for free,
+  // and the item's data container is read through Paper's view, without cloning the ItemMeta.
+  if (handItem != null && handItem.getType() == AutoWarnCommand.WAND_MATERIAL) {
    // FIX: Check for PersistentDataType.STRING as set in AutoWarnCommand
-   if (meta.getPersistentDataContainer().has(wandKey, PersistentDataType.STRING)) {
+   if (handItem.getPersistentDataContainer().has(wandKey, PersistentDataType.STRING)) {
     event.setCancelled(true); // Always cancel event when using the wand to prevent unintended block interactions
     Block clickedBlock = event.getClickedBlock();
     if (clickedBlock == null) return; // Ensure a block was actually clicked
@@ -88,10 +118,10 @@ public class ZoneListener implements Listener {
     // Handle left-click for pos1 and right-click for pos2
     if (event.getAction() == Action.LEFT_CLICK_BLOCK) {
      command.setPos1(player.getUniqueId(), clickedBlockVector); // Pass Vector
-     player.sendActionBar(settings.getMessage("wand.pos1-set", Placeholder.unparsed("coords", formatLocation(clickedBlock.getLocation()))));
+     player.sendActionBar(settings.getMessage("wand.pos1-set", "coords", formatLocation(clickedBlock.getLocation())));
     } else if (event.getAction() == Action.RIGHT_CLICK_BLOCK) {
      command.setPos2(player.getUniqueId(), clickedBlockVector); // Pass Vector
-     player.sendActionBar(settings.getMessage("wand.pos2-set", Placeholder.unparsed("coords", formatLocation(clickedBlock.getLocation()))));
+     player.sendActionBar(settings.getMessage("wand.pos2-set", "coords", formatLocation(clickedBlock.getLocation())));
     }
     return; // Stop processing further if the wand was used
    }
@@ -101,44 +131,69 @@ public class ZoneListener implements Listener {
   // Check if chest access monitoring is enabled and the action is a right-click on a container
   if (settings.isMonitorChestAccess() && event.getAction() == Action.RIGHT_CLICK_BLOCK) {
    Block clickedBlock = event.getClickedBlock();
-   // Ensure the clicked block is a container (e.g., chest, furnace, barrel)
-   if (clickedBlock != null && clickedBlock.getState() instanceof Container) {
-    handleAction(player, clickedBlock.getLocation(), clickedBlock.getType(), event);
+   // Ensure the clicked block is a container (e.g., chest, furnace, barrel); a set lookup, no BlockState snapshot
+   if (clickedBlock != null && containerMaterials.isContainer(clickedBlock)) {
+    handleAction(player, clickedBlock, clickedBlock.getType(), event);
    }
   }
  }
 
  /**
-  * Centralized method to handle a player action at a specific location.
-  * Applies global bans and zone-specific rules.
+  * Centralized method to handle a player action at a specific block.
+  * Applies global bans and zone-specific rules through the zone's precompiled ActionTable,
+  * or the global table when the block is outside every zone.
+  * The zone lookup works on raw block coordinates; a Location is only created once an action has to be processed.
   * @param player The player performing the action.
-  * @param location The location where the action occurred.
+  * @param block The block where the action occurred.
   * @param material The material involved in the action.
   * @param event The cancellable event associated with the action.
   */
- private void handleAction(Player player, Location location, Material material, Cancellable event) {
-  // Bypass all checks if the player has the bypass permission
-  if (player.hasPermission("autowarn.bypass")) {
+ private void handleAction(Player player, Block block, Material material, Cancellable event) {
+  // Most actions involve a world without zones or a material nothing restricts; drop those before anything else
+  UUID worldId = block.getWorld().getUID();
+  if (!zoneManager.isRelevant(worldId, material)) {
    return;
   }
 
-  // Check globally banned materials first
-  if (settings.getGloballyBannedMaterials().contains(material)) {
-   processAction(Zone.Action.DENY, player, location, material, "Global", event);
+  // Bypass all checks if the player has the bypass permission (cached in the player's session)
+  if (sessionManager.isBypassing(player)) {
    return;
   }
 
-  // Check for zone-specific rules if the location is within a defined zone
-  Zone zone = zoneManager.getZoneAt(location);
+  // A single snapshot read gives a consistent view, even while zones are being reloaded.
+  // Repeated actions inside the same zone are answered from the player's last-zone cache.
+  ZoneSnapshot snapshot = zoneManager.getSnapshot();
+  long lookupStart = metrics.startTimer();
+  Zone zone = sessionManager.findZone(player, snapshot, worldId, block.getX(), block.getY(), block.getZ());
+  metrics.recordZoneLookup(lookupStart);
+  ActionTable table = zone != null ? zone.getActionTable() : settings.getGlobalActionTable();
+  byte code = table.get(material);
+  if (code == ActionTable.GLOBAL_DENY) {
+   metrics.countAction(Zone.Action.DENY);
+   if (zone != null) {
+    metrics.recordZoneHit(zone, material, Zone.Action.DENY);
+   }
+   processAction(Zone.Action.DENY, player, block.getLocation(), material, "Global", event);
+   return;
+  }
+
+  // Outside of zones only global bans apply
   if (zone != null) {
-   Zone.Action action = zone.getActionFor(material);
-   processAction(action, player, location, material, zone.getName(), event);
+   Zone.Action action = ActionTable.toAction(code);
+   metrics.countAction(action);
+   metrics.recordZoneHit(zone, material, action); // Before the ALLOW shortcut, so allowed traffic shows up too
+   if (action == Zone.Action.ALLOW && !settings.isDebugLogAllowedActions()) {
+    return; // Nothing to report, so skip building placeholders and a Location
+   }
+   processAction(action, player, block.getLocation(), material, zone.getName(), event);
   }
  }
 
  /**
   * Processes the determined action (DENY, ALERT, ALLOW), sends messages to the player,
-  * logs the action, and integrates with CoreProtect if available.
+  * records the action in the audit log (or the console when it is disabled), and integrates with CoreProtect if available.
+  * Repeats of the same action inside the aggregation window are only counted here;
+  * the AlertAggregator reports them as one summary when the window closes.
   * @param action The action to perform (DENY, ALERT, ALLOW).
   * @param player The player involved in the action.
   * @param loc The location of the action.
@@ -147,53 +202,69 @@ public class ZoneListener implements Listener {
   * @param event The cancellable event.
   */
  private void processAction(Zone.Action action, Player player, Location loc, Material mat, String zoneName, Cancellable event) {
-  // Prepare placeholders for MiniMessage messages
-  var placeholders = new TagResolver[]{
-          Placeholder.unparsed("player", player.getName()),
-          Placeholder.unparsed("material", mat.name().toLowerCase().replace('_', ' ')),
-          Placeholder.unparsed("zone", zoneName),
-          Placeholder.unparsed("location", formatLocation(loc))
-  };
+  if (action == Zone.Action.DENY) {
+   event.setCancelled(true); // Cancel the event (e.g., block placement)
+  }
+  logToCoreProtect(player.getName(), loc, mat); // Every occurrence is recorded in CoreProtect with its own location
+  if (auditLogger != null) {
+   // Only raw values are captured here; formatting and file I/O happen on the audit writer thread
+   auditLogger.record(new AuditRecord(System.currentTimeMillis(), player.getUniqueId(), player.getName(),
+           loc.getWorld().getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), mat, zoneName, action));
+  }
 
-  // Create a log message for the console/plugin logs
-  String logMessage = String.format("%s performed %s with %s in %s at %s", player.getName(), action.name(), mat.name(), zoneName, formatLocation(loc));
+  if (!alertAggregator.record(player, zoneName, mat, action)) {
+   return; // Folded into an open window
+  }
+
+  // Plain-text placeholder values, filled into the precompiled message templates
+  String[] placeholders = {
+          "player", player.getName(),
+          "material", mat.name().toLowerCase().replace('_', ' '),
+          "zone", zoneName,
+          "location", formatLocation(loc)
+  };
+  // Without the audit log, decisions are logged to the console as before
+  String logMessage = auditLogger == null ? String.format("%s performed %s with %s in %s at %s",
+          player.getName(), action.name(), mat.name(), zoneName, formatLocation(loc)) : null;
 
   switch (action) {
    case DENY:
-    event.setCancelled(true); // Cancel the event (e.g., block placement)
     player.sendMessage(settings.getMessage("action.denied", placeholders)); // Send denial message to player
-    settings.log(Level.INFO, "[DENIED] " + logMessage); // Log to plugin console
-    logToCoreProtect(player.getName(), loc, mat); // Log to CoreProtect
+    if (logMessage != null) {
+     settings.log(Level.INFO, "[DENIED] " + logMessage);
+    }
     break;
    case ALERT:
-    // Allow the action, but alert staff with permission
-    Bukkit.getOnlinePlayers().forEach(p -> {
-     if (p.hasPermission("autowarn.notify")) {
-      p.sendMessage(settings.getMessage("action.alert", placeholders)); // Send alert message to authorized staff
+    // Allow the action, but alert subscribed staff; the message is rendered once for all of them
+    Collection<Player> subscribers = sessionManager.getNotifySubscribers();
+    if (!subscribers.isEmpty()) {
+     Component alert = settings.getMessage("action.alert", placeholders);
+     for (Player staff : subscribers) {
+      staff.sendMessage(alert);
      }
-    });
-    settings.log(Level.INFO, "[ALERT] " + logMessage); // Log to plugin console
-    logToCoreProtect(player.getName(), loc, mat); // Log to CoreProtect
+    }
+    if (logMessage != null) {
+     settings.log(Level.INFO, "[ALERT] " + logMessage);
+    }
     break;
    case ALLOW:
-    // If allowed actions logging is enabled, log the action
-    if (settings.isDebugLogAllowedActions()) {
+    // Only reached when allowed actions logging is enabled
+    if (logMessage != null) {
      settings.log(Level.INFO, "[ALLOWED] " + logMessage);
-     logToCoreProtect(player.getName(), loc, mat); // Log to CoreProtect
     }
     break;
   }
  }
 
  /**
-  * Logs an action to the CoreProtect API if it's available.
+  * Queues an action for CoreProtect if it's available. The CoreProtect call itself happens on the queue's worker thread.
   * @param user The user performing the action.
   * @param location The location of the action.
   * @param material The material involved.
   */
  private void logToCoreProtect(String user, Location location, Material material) {
-  if (coreProtectAPI != null) {
-   coreProtectAPI.logPlacement(user, location, material, null); // Logs a block placement/interaction
+  if (coreProtectQueue != null) {
+   coreProtectQueue.enqueue(user, location, material); // Logs a block placement/interaction
   }
  }
 
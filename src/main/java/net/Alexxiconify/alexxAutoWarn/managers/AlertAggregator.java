@@ -0,0 +1,188 @@
+package net.alexxiconify.alexxAutoWarn.managers;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import net.alexxiconify.alexxAutoWarn.utils.Settings;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Coalesces repeated zone actions into one report per time window.
+ * <p>
+ * The first occurrence of a (player, zone, material, action) combination is reported immediately by the caller;
+ * further occurrences inside the window only increment a counter, and a single summary is emitted when the
+ * window closes. Windows are kept in start order, so the periodic flush only visits windows that have expired,
+ * and the number of open windows is capped so memory stays bounded no matter how fast players act.
+ * <p>
+ * All methods must be called from the main server thread.
+ */
+public class AlertAggregator {
+
+ private static final long FLUSH_PERIOD_TICKS = 10L; // Half a second
+
+ private final AlexxAutoWarn plugin;
+ private final Settings settings;
+ private final PlayerSessionManager sessionManager;
+ private final boolean logToConsole; // Without the audit log, summaries also go to the console
+ private final LinkedHashMap<Key, Window> windows = new LinkedHashMap<>(); // Ordered by window start
+ private BukkitTask flushTask;
+
+ /**
+  * Constructs a new AlertAggregator.
+  *
+  * @param plugin The main AlexxAutoWarn plugin instance.
+  */
+ public AlertAggregator(AlexxAutoWarn plugin) {
+  this.plugin = plugin;
+  this.settings = plugin.getSettings();
+  this.sessionManager = plugin.getSessionManager();
+  this.logToConsole = plugin.getAuditLogger() == null;
+ }
+
+ /**
+  * Starts the periodic flush of expired windows.
+  */
+ public void start() {
+  if (flushTask == null) {
+   flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flushExpired, FLUSH_PERIOD_TICKS, FLUSH_PERIOD_TICKS);
+  }
+ }
+
+ /**
+  * Stops the periodic flush and emits the summaries of all open windows.
+  */
+ public void stop() {
+  if (flushTask != null) {
+   flushTask.cancel();
+   flushTask = null;
+  }
+  windows.forEach(this::emitSummary);
+  windows.clear();
+ }
+
+ /**
+  * Records one occurrence of an action.
+  *
+  * @param player   The acting player.
+  * @param zoneName The name of the zone (or "Global" for global bans).
+  * @param material The material involved.
+  * @param action   The resulting action.
+  * @return true if this occurrence opened a new window and should be reported right away,
+  * false if it was folded into an open window.
+  */
+ public boolean record(@NotNull Player player, @NotNull String zoneName, @NotNull Material material, @NotNull Zone.Action action) {
+  long windowMillis = settings.getAlertWindowMillis();
+  if (windowMillis <= 0) {
+   return true; // Aggregation disabled
+  }
+  long now = System.currentTimeMillis();
+  Key key = new Key(player.getUniqueId(), zoneName, material, action);
+  Window window = windows.get(key);
+  if (window != null) {
+   if (now - window.startMillis < windowMillis) {
+    window.count++;
+    window.lastMillis = now;
+    return false;
+   }
+   // The flush task has not caught up with this window yet; close it before opening a new one
+   windows.remove(key);
+   emitSummary(key, window);
+  }
+  if (windows.size() >= settings.getAlertMaxWindows()) {
+   // Close the oldest window early rather than growing without bound
+   Iterator<Map.Entry<Key, Window>> eldest = windows.entrySet().iterator();
+   Map.Entry<Key, Window> entry = eldest.next();
+   eldest.remove();
+   emitSummary(entry.getKey(), entry.getValue());
+  }
+  windows.put(key, new Window(player.getName(), now));
+  return true;
+ }
+
+ /**
+  * @return The number of currently open windows.
+  */
+ public int getOpenWindows() {
+  return windows.size();
+ }
+
+ /**
+  * Closes every window whose time span has elapsed.
+  */
+ private void flushExpired() {
+  long cutoff = System.currentTimeMillis() - settings.getAlertWindowMillis();
+  Iterator<Map.Entry<Key, Window>> iterator = windows.entrySet().iterator();
+  while (iterator.hasNext()) {
+   Map.Entry<Key, Window> entry = iterator.next();
+   if (entry.getValue().startMillis > cutoff) {
+    break; // Windows are in start order, so every later one is still open
+   }
+   iterator.remove();
+   emitSummary(entry.getKey(), entry.getValue());
+  }
+ }
+
+ /**
+  * Reports the occurrences that were folded into a window. The first occurrence was already reported.
+  */
+ private void emitSummary(Key key, Window window) {
+  if (window.count <= 1) {
+   return;
+  }
+  String duration = String.format("%.1f", (window.lastMillis - window.startMillis) / 1000.0);
+  if (logToConsole) {
+   settings.log(Level.INFO, logTag(key.action()) + " " + window.playerName + " performed " + key.action().name()
+           + " with " + key.material().name() + " x" + window.count + " in " + key.zoneName() + " over " + duration + "s");
+  }
+  if (key.action() != Zone.Action.ALERT) {
+   return; // Only ALERTs are broadcast to staff
+  }
+  Collection<Player> subscribers = sessionManager.getNotifySubscribers();
+  if (subscribers.isEmpty()) {
+   return;
+  }
+  Component summary = settings.getMessage("action.alert-summary",
+          "player", window.playerName,
+          "material", key.material().name().toLowerCase().replace('_', ' '),
+          "zone", key.zoneName(),
+          "count", String.valueOf(window.count),
+          "duration", duration);
+  for (Player staff : subscribers) {
+   staff.sendMessage(summary);
+  }
+ }
+
+ private static String logTag(Zone.Action action) {
+  return switch (action) {
+   case DENY -> "[DENIED]";
+   case ALERT -> "[ALERT]";
+   case ALLOW -> "[ALLOWED]";
+  };
+ }
+
+ private record Key(UUID playerId, String zoneName, Material material, Zone.Action action) {
+ }
+
+ private static final class Window {
+  private final String playerName;
+  private final long startMillis;
+  private long lastMillis;
+  private int count = 1;
+
+  private Window(String playerName, long startMillis) {
+   this.playerName = playerName;
+   this.startMillis = startMillis;
+   this.lastMillis = startMillis;
+  }
+ }
+}
@@ -0,0 +1,148 @@
+package net.alexxiconify.alexxAutoWarn.managers;
+
+import net.coreprotect.CoreProtectAPI;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves CoreProtect logging off the main thread.
+ * <p>
+ * Event handlers only append to a bounded queue; a dedicated worker drains it in batches and calls
+ * the CoreProtect API. When CoreProtect falls behind and the queue is full, the oldest entry is dropped
+ * so that a slow database never stalls block placement.
+ */
+public class CoreProtectQueue {
+
+ private static final long POLL_TIMEOUT_MILLIS = 250L;
+ private static final long DROP_WARNING_INTERVAL_MILLIS = 60_000L;
+
+ private final CoreProtectAPI api;
+ private final Logger logger;
+ private final BlockingQueue<Entry> queue;
+ private final int batchSize;
+ private final Thread worker;
+ private final LongAdder enqueued = new LongAdder();
+ private final LongAdder dropped = new LongAdder();
+ private final LongAdder flushed = new LongAdder();
+ private volatile boolean running = true;
+ private volatile long lastDropWarning;
+
+ /**
+  * Creates the queue and starts its worker thread.
+  *
+  * @param api       The hooked CoreProtect API.
+  * @param logger    The plugin logger.
+  * @param capacity  The maximum number of pending entries.
+  * @param batchSize The maximum number of entries handed to CoreProtect per drain.
+  */
+ public CoreProtectQueue(@NotNull CoreProtectAPI api, @NotNull Logger logger, int capacity, int batchSize) {
+  this.api = api;
+  this.logger = logger;
+  this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+  this.batchSize = Math.max(1, batchSize);
+  this.worker = new Thread(this::run, "AlexxAutoWarn-CoreProtect");
+  this.worker.setDaemon(true);
+  this.worker.start();
+ }
+
+ /**
+  * Queues a placement record. Never blocks; if the queue is full the oldest record is discarded.
+  *
+  * @param user     The user performing the action.
+  * @param location The location of the action. Must not be modified afterwards.
+  * @param material The material involved.
+  */
+ public void enqueue(@NotNull String user, @NotNull Location location, @NotNull Material material) {
+  if (!running) {
+   return;
+  }
+  Entry entry = new Entry(user, location, material);
+  while (!queue.offer(entry)) {
+   if (queue.poll() != null) {
+    dropped.increment();
+    warnAboutDrops();
+   }
+  }
+  enqueued.increment();
+ }
+
+ /**
+  * Stops accepting entries and waits for the worker to write everything still queued.
+  *
+  * @param timeoutMillis The maximum time to wait.
+  */
+ public void shutdown(long timeoutMillis) {
+  running = false;
+  try {
+   worker.join(timeoutMillis);
+  } catch (InterruptedException e) {
+   Thread.currentThread().interrupt();
+  }
+  int remaining = queue.size();
+  if (remaining > 0) {
+   logger.warning("CoreProtect queue did not drain in time; " + remaining + " entries were not logged.");
+  }
+ }
+
+ public long getEnqueued() {
+  return enqueued.sum();
+ }
+
+ public long getDropped() {
+  return dropped.sum();
+ }
+
+ public long getFlushed() {
+  return flushed.sum();
+ }
+
+ public int getPending() {
+  return queue.size();
+ }
+
+ private void run() {
+  List<Entry> batch = new ArrayList<>(batchSize);
+  while (running || !queue.isEmpty()) {
+   try {
+    Entry first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+     continue;
+    }
+    batch.add(first);
+    queue.drainTo(batch, batchSize - 1);
+    for (Entry entry : batch) {
+     api.logPlacement(entry.user(), entry.location(), entry.material(), null);
+    }
+    flushed.add(batch.size());
+   } catch (InterruptedException e) {
+    Thread.currentThread().interrupt();
+    return;
+   } catch (RuntimeException e) {
+    logger.log(Level.WARNING, "Failed to write a batch of " + batch.size() + " entries to CoreProtect.", e);
+   } finally {
+    batch.clear();
+   }
+  }
+ }
+
+ private void warnAboutDrops() {
+  long now = System.currentTimeMillis();
+  if (now - lastDropWarning >= DROP_WARNING_INTERVAL_MILLIS) {
+   lastDropWarning = now;
+   logger.warning("CoreProtect is falling behind; dropping the oldest queued entries (" + dropped.sum() + " dropped so far).");
+  }
+ }
+
+ private record Entry(String user, Location location, Material material) {
+ }
+}
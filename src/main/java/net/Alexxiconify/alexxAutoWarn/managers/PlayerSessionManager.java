@@ -0,0 +1,203 @@
+package net.alexxiconify.alexxAutoWarn.managers;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.objects.PlayerSession;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a {@link PlayerSession} for every online player, answers zone lookups
+ * through each player's last-zone cache, and maintains the set of staff that receive alerts.
+ * <p>
+ * Bukkit has no generic "permissions changed" event, so permission-derived state is refreshed
+ * on join, on world change, when the server resends a player's command list (which permission
+ * plugins and /op trigger after a change), on reload, and on a periodic task
+ * (see {@code settings.permission-refresh-seconds}).
+ */
+public class PlayerSessionManager {
+
+ private static final String NOTIFY_PERMISSION = "autowarn.notify";
+ private static final String BYPASS_PERMISSION = "autowarn.bypass";
+
+ private final AlexxAutoWarn plugin;
+ private final NamespacedKey notifyMutedKey;
+ private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
+ // Iterated on every ALERT, changed only on join/quit/refresh/toggle
+ private final Set<Player> notifySubscribers = new CopyOnWriteArraySet<>();
+ private final LongAdder zoneCacheHits = new LongAdder();
+ private final LongAdder zoneCacheMisses = new LongAdder();
+
+ /**
+  * Constructs a new PlayerSessionManager.
+  *
+  * @param plugin The main AlexxAutoWarn plugin instance.
+  */
+ public PlayerSessionManager(AlexxAutoWarn plugin) {
+  this.plugin = plugin;
+  this.notifyMutedKey = new NamespacedKey(plugin, "notify_muted");
+ }
+
+ /**
+  * Opens a session for a player, replacing any stale session.
+  *
+  * @param player The player who joined.
+  */
+ public void open(@NotNull Player player) {
+  PlayerSession session = new PlayerSession(player.getUniqueId());
+  // The notify toggle is stored on the player, so it survives relogs and restarts
+  session.setNotificationsMuted(player.getPersistentDataContainer().has(notifyMutedKey, PersistentDataType.BYTE));
+  sessions.put(player.getUniqueId(), session);
+  refreshPermissions(player);
+ }
+
+ /**
+  * Opens sessions for players that are already online, e.g. after a plugin reload.
+  *
+  * @param players The online players.
+  */
+ public void openAll(@NotNull Collection<? extends Player> players) {
+  players.forEach(this::open);
+ }
+
+ /**
+  * Closes a player's session.
+  *
+  * @param player The player who quit.
+  */
+ public void close(@NotNull Player player) {
+  sessions.remove(player.getUniqueId());
+  notifySubscribers.remove(player);
+ }
+
+ /**
+  * Gets a player's session.
+  *
+  * @param player The player.
+  * @return The session, or null if none is open.
+  */
+ @Nullable
+ public PlayerSession get(@NotNull Player player) {
+  return sessions.get(player.getUniqueId());
+ }
+
+ /**
+  * Re-evaluates the permission-derived state of one player.
+  *
+  * @param player The player to refresh.
+  */
+ public void refreshPermissions(@NotNull Player player) {
+  PlayerSession session = sessions.get(player.getUniqueId());
+  if (session == null) {
+   return;
+  }
+  session.setBypassing(player.hasPermission(BYPASS_PERMISSION));
+  if (!session.isNotificationsMuted() && player.hasPermission(NOTIFY_PERMISSION)) {
+   notifySubscribers.add(player);
+  } else {
+   notifySubscribers.remove(player);
+  }
+ }
+
+ /**
+  * Checks whether a player bypasses all zone rules, using the cached permission.
+  *
+  * @param player The acting player.
+  * @return true if the player has the bypass permission.
+  */
+ public boolean isBypassing(@NotNull Player player) {
+  PlayerSession session = sessions.get(player.getUniqueId());
+  return session != null ? session.isBypassing() : player.hasPermission(BYPASS_PERMISSION);
+ }
+
+ /**
+  * Re-evaluates the permission-derived state of every online player.
+  * Must be called from the main thread.
+  */
+ public void refreshAllPermissions() {
+  plugin.getServer().getOnlinePlayers().forEach(this::refreshPermissions);
+ }
+
+ /**
+  * Enables or disables alert notifications for a staff member.
+  *
+  * @param player  The staff member.
+  * @param enabled true to receive alerts, false to mute them.
+  */
+ public void setNotificationsEnabled(@NotNull Player player, boolean enabled) {
+  if (enabled) {
+   player.getPersistentDataContainer().remove(notifyMutedKey);
+  } else {
+   player.getPersistentDataContainer().set(notifyMutedKey, PersistentDataType.BYTE, (byte) 1);
+  }
+  PlayerSession session = sessions.get(player.getUniqueId());
+  if (session != null) {
+   session.setNotificationsMuted(!enabled);
+  }
+  refreshPermissions(player);
+ }
+
+ /**
+  * Gets the players that currently receive alert notifications.
+  *
+  * @return An unmodifiable live view of the subscribers.
+  */
+ @NotNull
+ public Collection<Player> getNotifySubscribers() {
+  return Collections.unmodifiableSet(notifySubscribers);
+ }
+
+ /**
+  * Finds the zone containing a block, first trying the player's last resolved zone
+  * and falling back to the snapshot's spatial index on a miss. A zone is only cached where no other
+  * zone overlaps its chunk column, so nested or overlapping zones resolve the same regardless of the
+  * path the player took.
+  *
+  * @param player   The acting player.
+  * @param snapshot The zone snapshot to resolve against.
+  * @param worldId  The UUID of the block's world.
+  * @param x        The block X coordinate.
+  * @param y        The block Y coordinate.
+  * @param z        The block Z coordinate.
+  * @return The containing zone, or null if there is none.
+  */
+ @Nullable
+ public Zone findZone(@NotNull Player player, @NotNull ZoneSnapshot snapshot, @NotNull UUID worldId, int x, int y, int z) {
+  PlayerSession session = sessions.get(player.getUniqueId());
+  if (session == null) {
+   return snapshot.find(worldId, x, y, z);
+  }
+  long epoch = snapshot.getEpoch();
+  Zone zone = session.getCachedZone(epoch, worldId, x, y, z);
+  if (zone != null) {
+   zoneCacheHits.increment();
+   return zone;
+  }
+  zoneCacheMisses.increment();
+  zone = snapshot.find(worldId, x, y, z);
+  if (zone != null && snapshot.isSoleZoneInChunk(zone, x >> 4, z >> 4)) {
+   session.setCachedZone(zone, epoch, x >> 4, z >> 4);
+  }
+  return zone;
+ }
+
+ public long getZoneCacheHits() {
+  return zoneCacheHits.sum();
+ }
+
+ public long getZoneCacheMisses() {
+  return zoneCacheMisses.sum();
+ }
+}
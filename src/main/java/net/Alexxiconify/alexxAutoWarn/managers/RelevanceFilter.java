@@ -0,0 +1,99 @@
+package net.alexxiconify.alexxAutoWarn.managers;
+
+import net.alexxiconify.alexxAutoWarn.objects.ActionTable;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Answers in a few nanoseconds whether an action can matter at all, before any zone lookup.
+ * <p>
+ * It holds the worlds that contain zones, a bitset of materials that some zone denies or alerts on,
+ * and a bitset of globally banned materials. An action is irrelevant if its material is allowed everywhere,
+ * or if it happens in a world without zones and its material is not globally banned.
+ * Instances are immutable; the ZoneManager rebuilds one whenever zones, rules or the ban list change.
+ */
+public final class RelevanceFilter {
+
+ /**
+  * A filter that lets every action through, used until the first one has been built.
+  */
+ static final RelevanceFilter ALL = new RelevanceFilter(null, null, null);
+
+ private static final int WORDS = (Material.values().length + 63) >>> 6;
+
+ private final UUID[] worlds;     // Worlds with zones; servers have few worlds, so a scan beats hashing
+ private final long[] materials;  // Not ALLOW in some zone, or globally banned
+ private final long[] banned;     // Globally banned
+
+ private RelevanceFilter(UUID[] worlds, long[] materials, long[] banned) {
+  this.worlds = worlds;
+  this.materials = materials;
+  this.banned = banned;
+ }
+
+ /**
+  * Builds the filter for a set of zones.
+  *
+  * @param zones            All live zones.
+  * @param globalTable      The table used outside of zones, which encodes the global ban list.
+  * @param allZoneMaterials true if every material inside a zone matters, e.g. because allowed actions are logged.
+  * @return The filter.
+  */
+ @NotNull
+ static RelevanceFilter build(@NotNull Collection<Zone> zones, @NotNull ActionTable globalTable, boolean allZoneMaterials) {
+  long[] banned = new long[WORDS];
+  globalTable.markNotAllowed(banned);
+  long[] materials = banned.clone();
+
+  Set<UUID> worlds = new LinkedHashSet<>();
+  Set<ActionTable> tables = Collections.newSetFromMap(new IdentityHashMap<>()); // Zones share interned tables
+  for (Zone zone : zones) {
+   worlds.add(zone.getWorldId());
+   tables.add(zone.getActionTable());
+  }
+  if (allZoneMaterials && !zones.isEmpty()) {
+   Arrays.fill(materials, -1L);
+  } else {
+   tables.forEach(table -> table.markNotAllowed(materials));
+  }
+  return new RelevanceFilter(worlds.toArray(new UUID[0]), materials, banned);
+ }
+
+ /**
+  * Checks whether an action could be denied, alerted on or logged.
+  *
+  * @param worldId  The UUID of the world the action happens in.
+  * @param material The material involved.
+  * @return false if the action certainly needs no further evaluation.
+  */
+ public boolean test(@NotNull UUID worldId, @NotNull Material material) {
+  if (materials == null) {
+   return true;
+  }
+  int ordinal = material.ordinal();
+  long bit = 1L << ordinal;
+  int word = ordinal >>> 6;
+  if ((materials[word] & bit) == 0) {
+   return false; // Allowed in every zone and not globally banned
+  }
+  return (banned[word] & bit) != 0 || hasZones(worldId);
+ }
+
+ private boolean hasZones(UUID worldId) {
+  for (UUID world : worlds) {
+   if (world == worldId || world.equals(worldId)) {
+    return true;
+   }
+  }
+  return false;
+ }
+}
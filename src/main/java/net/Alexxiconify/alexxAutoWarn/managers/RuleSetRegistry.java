@@ -0,0 +1,124 @@
+package net.alexxiconify.alexxAutoWarn.managers;
+
+import net.alexxiconify.alexxAutoWarn.objects.RuleSet;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interns zone rule sets so that zones with identical rules share one immutable instance.
+ * Servers with generated zones typically use a few dozen distinct rule sets across
+ * tens of thousands of zones, so sharing avoids a Material-sized map and table per zone.
+ * <p>
+ * Rule sets are interned before the zones using them are published, so a concurrent prune may drop
+ * one that is about to be used. Publishers therefore {@link #adopt} the rule sets of the zones they
+ * publish: a dropped rule set is registered again and compiled against the current ban list, and from
+ * then on every {@link #recompile} reaches it.
+ */
+public class RuleSetRegistry {
+
+ private final Map<RuleSet, RuleSet> ruleSets = new HashMap<>(); // One canonical instance per distinct rule set
+ private final Set<RuleSet> live = Collections.newSetFromMap(new IdentityHashMap<>()); // Every instance recompiled on ban changes
+ private Set<Material> globallyBanned = Set.of();
+
+ /**
+  * Returns the shared rule set equal to the given rules, registering (and compiling) it if it is new.
+  * Safe to call from several threads at once; the candidate is built outside the lock.
+  *
+  * @param defaultAction   The default action for materials not specifically defined.
+  * @param materialActions A map of materials to their specific actions.
+  * @return The interned RuleSet.
+  */
+ @NotNull
+ public RuleSet intern(@NotNull Zone.Action defaultAction, @NotNull Map<Material, Zone.Action> materialActions) {
+  RuleSet candidate = new RuleSet(defaultAction, materialActions);
+  synchronized (this) {
+   RuleSet existing = ruleSets.get(candidate);
+   if (existing != null) {
+    return existing;
+   }
+   candidate.compileActionTable(globallyBanned);
+   ruleSets.put(candidate, candidate);
+   live.add(candidate);
+   return candidate;
+  }
+ }
+
+ /**
+  * Registers the rule sets of zones about to be published, in case a prune dropped them after they
+  * were interned. Call this under the same lock as the publication and any prune.
+  *
+  * @param zones The zones being published.
+  */
+ public synchronized void adopt(@NotNull Collection<Zone> zones) {
+  for (Zone zone : zones) {
+   adopt(zone);
+  }
+ }
+
+ /**
+  * Registers the rule set of a zone about to be published. See {@link #adopt(Collection)}.
+  *
+  * @param zone The zone being published.
+  */
+ public synchronized void adopt(@NotNull Zone zone) {
+  RuleSet ruleSet = zone.getRules();
+  if (live.add(ruleSet)) {
+   ruleSet.compileActionTable(globallyBanned); // May have missed ban list changes while it was unregistered
+   ruleSets.putIfAbsent(ruleSet, ruleSet); // An equal instance interned meanwhile stays canonical
+  }
+ }
+
+ /**
+  * Recompiles every interned rule set against a new global ban list.
+  *
+  * @param globallyBanned The globally banned materials.
+  */
+ public synchronized void recompile(@NotNull Set<Material> globallyBanned) {
+  this.globallyBanned = Set.copyOf(globallyBanned);
+  live.forEach(ruleSet -> ruleSet.compileActionTable(this.globallyBanned));
+ }
+
+ /**
+  * Drops every rule set that is no longer referenced by one of the given zones. Rule sets of zones
+  * not yet published may be dropped too; their publisher adopts them again.
+  *
+  * @param zones All zones that are still live.
+  */
+ public synchronized void retainUsedBy(@NotNull Collection<Zone> zones) {
+  Set<RuleSet> used = Collections.newSetFromMap(new IdentityHashMap<>());
+  zones.forEach(zone -> used.add(zone.getRules()));
+  live.retainAll(used);
+  ruleSets.values().removeIf(ruleSet -> !live.contains(ruleSet));
+  live.forEach(ruleSet -> ruleSets.putIfAbsent(ruleSet, ruleSet)); // A still used duplicate becomes canonical
+ }
+
+ /**
+  * @return The number of distinct rule sets currently interned.
+  */
+ public synchronized int size() {
+  return ruleSets.size();
+ }
+
+ /**
+  * Estimates the heap cost of one rule set if it were not shared: a Material-sized EnumMap
+  * backing array plus a Material-sized compiled table, with object headers and references.
+  *
+  * @return The estimated size in bytes.
+  */
+ public static long estimateUnsharedRuleSetBytes() {
+  long materials = Material.values().length;
+  long enumMap = 48 + 16 + materials * 4;    // EnumMap object + Object[] of compressed references
+  long unmodifiableWrapper = 24;
+  long actionTable = 16 + 16 + materials;     // ActionTable object + byte[]
+  long ruleSet = 32;
+  return enumMap + unmodifiableWrapper + actionTable + ruleSet;
+ }
+}
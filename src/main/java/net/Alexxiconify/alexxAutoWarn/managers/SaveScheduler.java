@@ -0,0 +1,176 @@
+package net.alexxiconify.alexxAutoWarn.managers;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Coalesces configuration changes into as few disk writes as possible.
+ * <p>
+ * Mutations only mark the configuration dirty; the write happens once no further change has arrived for
+ * a quiet period (but never later than {@link #MAX_DELAY_MILLIS} after the first unsaved change). All writes
+ * run on one worker thread, so they can never interleave, and replace config.yml through a temporary file
+ * and an atomic rename, so a crash mid-write never leaves a truncated file.
+ * <p>
+ * The in-memory {@link FileConfiguration} is shared with the main thread; every access that may overlap
+ * with a save must hold {@link #getConfigLock()}.
+ */
+public class SaveScheduler {
+
+ private static final long MAX_DELAY_MILLIS = 10_000L;
+ private static final long FLUSH_TIMEOUT_SECONDS = 30L;
+
+ private final AlexxAutoWarn plugin;
+ private final Object configLock = new Object();
+ private final ScheduledExecutorService executor;
+ private ScheduledFuture<?> pending; // Guarded by this
+ private long firstDirtyMillis;      // Guarded by this; when the oldest unsaved change was made
+ private boolean dirty;              // Guarded by this
+
+ /**
+  * Constructs a new SaveScheduler.
+  *
+  * @param plugin The main AlexxAutoWarn plugin instance.
+  */
+ public SaveScheduler(AlexxAutoWarn plugin) {
+  this.plugin = plugin;
+  this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+   Thread thread = new Thread(runnable, "AlexxAutoWarn-Save");
+   thread.setDaemon(true);
+   return thread;
+  });
+ }
+
+ /**
+  * @return The lock guarding the shared in-memory configuration.
+  */
+ @NotNull
+ public Object getConfigLock() {
+  return configLock;
+ }
+
+ /**
+  * Applies a change to the in-memory configuration and schedules it to be saved.
+  *
+  * @param edit The change to apply.
+  */
+ public void editConfig(@NotNull Consumer<FileConfiguration> edit) {
+  synchronized (configLock) {
+   edit.accept(plugin.getConfig());
+  }
+  markDirty();
+ }
+
+ /**
+  * Records that the configuration has unsaved changes and (re)starts the quiet period.
+  */
+ public synchronized void markDirty() {
+  long now = System.currentTimeMillis();
+  long quietPeriod = plugin.getSettings().getSaveQuietPeriodMillis();
+  if (!dirty) {
+   dirty = true;
+   firstDirtyMillis = now;
+  }
+  long deadline = firstDirtyMillis + MAX_DELAY_MILLIS;
+  if (pending != null) {
+   if (now + quietPeriod > deadline) {
+    return; // Postponing again would exceed the maximum delay; let the scheduled save run
+   }
+   pending.cancel(false);
+  }
+  long delay = Math.max(0L, Math.min(quietPeriod, deadline - now));
+  pending = executor.schedule(this::saveIfDirty, delay, TimeUnit.MILLISECONDS);
+ }
+
+ /**
+  * Writes any unsaved changes now and waits for the write to finish.
+  */
+ public void flush() {
+  synchronized (this) {
+   if (pending != null) {
+    pending.cancel(false);
+    pending = null;
+   }
+  }
+  try {
+   executor.submit(this::saveIfDirty).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  } catch (InterruptedException e) {
+   Thread.currentThread().interrupt();
+  } catch (ExecutionException | TimeoutException e) {
+   plugin.getLogger().log(Level.SEVERE, "Failed to flush pending configuration changes.", e);
+  }
+ }
+
+ /**
+  * Flushes unsaved changes and stops the worker. Called on disable.
+  */
+ public void shutdown() {
+  flush();
+  executor.shutdown();
+ }
+
+ /**
+  * Runs on the worker thread.
+  */
+ private void saveIfDirty() {
+  synchronized (this) {
+   pending = null;
+   if (!dirty) {
+    return;
+   }
+   dirty = false; // Changes made from here on schedule another save
+  }
+  try {
+   String yaml;
+   int zoneCount;
+   synchronized (configLock) {
+    FileConfiguration config = plugin.getConfig();
+    zoneCount = plugin.getZoneManager().writeZones(config);
+    yaml = config.saveToString();
+   }
+   writeAtomically(new File(plugin.getDataFolder(), "config.yml").toPath(), yaml);
+   plugin.getSettings().log(Level.INFO, zoneCount >= 0 ? "Successfully saved " + zoneCount + " zones." : "Successfully saved config.yml.");
+  } catch (IOException | RuntimeException e) {
+   plugin.getLogger().log(Level.SEVERE, "Failed to save config.yml; will retry on the next change.", e);
+   synchronized (this) {
+    dirty = true;
+   }
+  }
+ }
+
+ private static void writeAtomically(Path target, String content) throws IOException {
+  Files.createDirectories(target.getParent());
+  Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+  try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+   ByteBuffer bytes = StandardCharsets.UTF_8.encode(content);
+   while (bytes.hasRemaining()) {
+    channel.write(bytes);
+   }
+   channel.force(true); // Make sure the data is on disk before it replaces the old file
+  }
+  try {
+   Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  } catch (AtomicMoveNotSupportedException e) {
+   Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+  }
+ }
+}
@@ -1,32 +1,66 @@
 package net.alexxiconify.alexxAutoWarn.managers; // Consistent casing: lowercase 'a' in alexxiconify
 
 import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.metrics.PluginMetrics;
+import net.alexxiconify.alexxAutoWarn.objects.RuleSet;
 import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import net.alexxiconify.alexxAutoWarn.storage.CachingZoneStorage;
+import net.alexxiconify.alexxAutoWarn.storage.ZoneRecord;
+import net.alexxiconify.alexxAutoWarn.storage.ZoneStorage;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 /**
  * Manages the loading, storage, and retrieval of AutoWarn zones.
- * Handles asynchronous saving and loading to prevent server lag.
+ * Handles asynchronous loading; persistence is delegated to a pluggable {@link ZoneStorage} backend.
+ * <p>
+ * All zones are held in an immutable {@link ZoneSnapshot}. Writers build the next snapshot
+ * (off-thread for a full reload) and publish it with a single volatile write, so readers on the
+ * main thread always see one complete generation and never block.
  */
 public class ZoneManager {
 
+ private static final int COORDINATE_LIMIT = 30_000_000; // The largest possible world border
+
  private final AlexxAutoWarn plugin;
- private final Map<String, Zone> zones = new ConcurrentHashMap<>();
+ private volatile ZoneSnapshot snapshot = ZoneSnapshot.EMPTY; // Replaced, never mutated; writers hold 'this'
+ private final RuleSetRegistry ruleSets = new RuleSetRegistry(); // Shared rule sets, so identical zones share one table
+ private final Object storageLock = new Object(); // Guards opening, switching and closing the storage
+ private volatile ZoneStorage storage; // Read without the lock for non-blocking changes
+ private final Executor mainThread; // Runs load steps that need the Bukkit API
+ private final PluginMetrics metrics;
+ private final Map<String, String> dormantZones = new ConcurrentHashMap<>(); // Zone name -> world name, for worlds that are not loaded; writers hold 'this'
+ private volatile RelevanceFilter relevance = RelevanceFilter.ALL; // Rebuilt on every change; writers hold 'this'
+ private final LongAdder relevanceChecks = new LongAdder();
+ private final LongAdder relevanceRejections = new LongAdder();
+ private final Object loadLock = new Object(); // Guards chaining onto lastLoad, so loads and imports run one after another
+ private volatile CompletableFuture<Void> lastLoad = CompletableFuture.completedFuture(null); // World (un)loads are applied after it
 
  /**
   * Constructs a new ZoneManager.
@@ -35,183 +69,632 @@ public class ZoneManager {
   */
  public ZoneManager(AlexxAutoWarn plugin) {
   this.plugin = plugin;
+  this.mainThread = task -> Bukkit.getScheduler().runTask(plugin, task);
+  this.metrics = plugin.getMetrics();
  }
 
  /**
-  * Asynchronously loads all zones from the configuration file.
+  * Asynchronously loads all zones from the configured storage backend, in three steps:
+  * <ol>
+  * <li>On the common fork/join pool, the storage is read and every entry is validated and its rules
+  * interned in parallel, producing immutable records and a list of errors.</li>
+  * <li>On the main thread, the distinct world names are resolved. This is the only step that touches the Bukkit API.</li>
+  * <li>Back on the pool, zones are created and bulk-loaded into a fresh index of the configured type, which is then swapped in.</li>
+  * </ol>
+  * The load starts after any load or import still in progress, so an older read is never published over a newer one.
+  * The time spent in each step is logged. If loading fails, the current zones are kept.
   *
   * @return A CompletableFuture that completes when loading is finished.
   */
  public CompletableFuture<Void> loadZones() {
-  return CompletableFuture.runAsync(() -> {
-   zones.clear(); // Clear existing zones before loading new ones
-   FileConfiguration config = plugin.getConfig();
-   ConfigurationSection zonesSection = config.getConfigurationSection("zones");
-   if (zonesSection == null) {
-    plugin.getSettings().log(Level.INFO, "No zones section found in config.yml. Loaded 0 zones.");
-    return;
+  ZoneLoad load = new ZoneLoad();
+  synchronized (loadLock) {
+   return lastLoad = lastLoad.thenRunAsync(() -> parseZones(load), ForkJoinPool.commonPool())
+           .thenRunAsync(() -> resolveWorlds(load), mainThread)
+           .thenRunAsync(() -> publishLoad(load), ForkJoinPool.commonPool())
+           .exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            plugin.getLogger().log(Level.SEVERE, "Failed to load zones from " + plugin.getSettings().getStorageType() + " storage. Keeping the current zones.", cause);
+            return null;
+           });
+  }
+ }
+
+ /**
+  * Load step 1, off the main thread: reads the storage, then validates and interns every record in parallel.
+  */
+ private void parseZones(@NotNull ZoneLoad load) {
+  long start = System.nanoTime();
+  List<ZoneRecord> records;
+  try {
+   records = openStorage().loadAll();
+  } catch (IOException e) {
+   throw new CompletionException(e);
+  }
+  load.parsed = prepare(records);
+  load.parseNanos = System.nanoTime() - start;
+ }
+
+ /**
+  * Validates stored zones and interns their rules in parallel, logging any problems afterwards.
+  *
+  * @param records The stored zones.
+  * @return The usable zones, with unique names.
+  */
+ @NotNull
+ private List<ParsedZone> prepare(@NotNull List<ZoneRecord> records) {
+  Queue<String> errors = new ConcurrentLinkedQueue<>();
+  Map<RuleKey, RuleSet> shared = new ConcurrentHashMap<>(); // Most zones share a few rule sets; intern each once
+  List<ParsedZone> valid = records.parallelStream()
+          .filter(record -> validate(record, errors))
+          .map(record -> new ParsedZone(record, shared.computeIfAbsent(new RuleKey(record.defaultAction(), record.materialActions()),
+                  key -> ruleSets.intern(key.defaultAction(), key.materialActions()))))
+          .toList();
+  // Names are unique within every storage, but YAML keys differing only in case collapse to one zone
+  Map<String, ParsedZone> unique = new LinkedHashMap<>();
+  for (ParsedZone zone : valid) {
+   if (unique.putIfAbsent(zone.record().name(), zone) != null) {
+    errors.add("Duplicate zone name '" + zone.record().name() + "'. Keeping the first definition.");
    }
+  }
+  errors.stream().sorted().forEach(error -> plugin.getSettings().log(Level.WARNING, error));
+  return List.copyOf(unique.values());
+ }
 
-   // Iterate through each defined zone in the config
-   for (String zoneName : zonesSection.getKeys(false)) {
-    ConfigurationSection zoneConfig = zonesSection.getConfigurationSection(zoneName);
-    if (zoneConfig == null) {
-     plugin.getSettings().log(Level.WARNING, "Skipping malformed zone configuration for '" + zoneName + "'.");
-     continue;
-    }
+ /**
+  * Checks a stored zone for values that would make it unusable. Called concurrently.
+  */
+ private static boolean validate(@NotNull ZoneRecord record, @NotNull Queue<String> errors) {
+  if (record.name().isEmpty() || record.worldName().isEmpty()) {
+   errors.add("Zone '" + record.name() + "' has an empty name or world. Skipping this zone.");
+   return false;
+  }
+  if (Math.abs((long) record.minX()) > COORDINATE_LIMIT || Math.abs((long) record.maxX()) > COORDINATE_LIMIT
+          || Math.abs((long) record.minZ()) > COORDINATE_LIMIT || Math.abs((long) record.maxZ()) > COORDINATE_LIMIT
+          || Math.abs((long) record.minY()) > COORDINATE_LIMIT || Math.abs((long) record.maxY()) > COORDINATE_LIMIT) {
+   errors.add("Zone '" + record.name() + "' lies outside the world border. Skipping this zone.");
+   return false;
+  }
+  return true;
+ }
+
+ /**
+  * Load step 2, on the main thread: looks up each distinct world once.
+  */
+ private void resolveWorlds(@NotNull ZoneLoad load) {
+  long start = System.nanoTime();
+  Map<String, Integer> missing = new HashMap<>();
+  for (ParsedZone zone : load.parsed) {
+   String worldName = zone.record().worldName();
+   if (load.worlds.containsKey(worldName)) {
+    continue;
+   }
+   Integer count = missing.get(worldName);
+   if (count != null) {
+    missing.put(worldName, count + 1);
+    continue;
+   }
+   World world = Bukkit.getWorld(worldName);
+   if (world != null) {
+    load.worlds.put(worldName, world);
+   } else {
+    missing.put(worldName, 1);
+   }
+  }
+  load.resolveNanos = System.nanoTime() - start;
+  missing.forEach((worldName, count) -> plugin.getSettings().log(Level.INFO,
+          "World '" + worldName + "' is not loaded. Its " + count + " zones stay dormant until it loads."));
+ }
+
+ /**
+  * Load step 3, off the main thread: creates the zones and publishes them in a freshly built index.
+  */
+ private void publishLoad(@NotNull ZoneLoad load) {
+  long start = System.nanoTime();
+  Map<String, Zone> loaded = new HashMap<>();
+  Map<String, String> dormant = new HashMap<>();
+  for (ParsedZone parsed : load.parsed) {
+   World world = load.worlds.get(parsed.record().worldName());
+   if (world != null) {
+    loaded.put(parsed.record().name(), parsed.toZone(world));
+   } else {
+    dormant.put(parsed.record().name(), parsed.record().worldName());
+   }
+  }
+  publishLoadedZones(loaded, dormant);
+  long publishNanos = System.nanoTime() - start;
+  // Log the total number of zones loaded
+  plugin.getSettings().log(Level.INFO, "Loaded " + loaded.size() + " zones from " + plugin.getSettings().getStorageType()
+          + " storage into a " + plugin.getSettings().getZoneIndexType() + " index (parse " + millis(load.parseNanos)
+          + " ms, worlds " + millis(load.resolveNanos) + " ms on the main thread, index " + millis(publishNanos) + " ms).");
+ }
+
+ private static String millis(long nanos) {
+  return String.format("%.1f", nanos / 1_000_000.0);
+ }
+
+ /**
+  * Activates the dormant zones of a world that has just been loaded. The zones are read from the
+  * storage and added to the lookup off the main thread, after any full load still in progress.
+  *
+  * @param world The loaded world.
+  * @return A CompletableFuture that completes when the zones are active.
+  */
+ public CompletableFuture<Void> activateWorld(@NotNull World world) {
+  String worldName = world.getName();
+  return lastLoad.thenRunAsync(() -> {
+   if (!dormantZones.containsValue(worldName)) {
+    return; // The world has no stored zones
+   }
+   List<ZoneRecord> records;
+   try {
+    records = openStorage().loadWorld(worldName);
+   } catch (IOException e) {
+    throw new CompletionException(e);
+   }
+   List<Zone> zones = new ArrayList<>(records.size());
+   for (ParsedZone parsed : prepare(records)) {
+    zones.add(parsed.toZone(world));
+   }
+   putWorldZones(worldName, zones);
+   plugin.getSettings().log(Level.INFO, "Activated " + zones.size() + " zones in world '" + worldName + "'.");
+  }, ForkJoinPool.commonPool()).exceptionally(error -> {
+   Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+   plugin.getLogger().log(Level.SEVERE, "Failed to activate the zones of world '" + worldName + "'. They stay dormant.", cause);
+   return null;
+  });
+ }
+
+ /**
+  * Imports many zones at once, replacing any zones with the same names. Runs like a load, after any load
+  * still in progress: the records are validated and their rules interned on the common fork/join pool,
+  * their worlds are resolved on the main thread, and the zones are then published in a single snapshot
+  * and passed to the storage as one write. Zones whose world is not loaded are stored as dormant zones.
+  *
+  * @param records The zones to import. Of zones sharing a name, the first is kept.
+  * @return A CompletableFuture with the number of zones imported, which fails if the import failed.
+  */
+ public CompletableFuture<Integer> importZones(@NotNull List<ZoneRecord> records) {
+  ZoneLoad load = new ZoneLoad();
+  synchronized (loadLock) {
+   CompletableFuture<Integer> imported = lastLoad.thenRunAsync(() -> parseImport(load, records), ForkJoinPool.commonPool())
+           .thenRunAsync(() -> resolveWorlds(load), mainThread)
+           .thenApplyAsync(ignored -> publishImport(load), ForkJoinPool.commonPool());
+   lastLoad = imported.handle((count, error) -> null); // Later loads wait for the import, whether or not it succeeds
+   return imported;
+  }
+ }
+
+ /**
+  * Import step 1, off the main thread: validates and interns the records in parallel.
+  */
+ private void parseImport(@NotNull ZoneLoad load, @NotNull List<ZoneRecord> records) {
+  long start = System.nanoTime();
+  load.parsed = prepare(records);
+  load.parseNanos = System.nanoTime() - start;
+ }
+
+ /**
+  * Import step 3, off the main thread: merges the zones into the current ones and persists them.
+  *
+  * @return The number of zones imported.
+  */
+ private int publishImport(@NotNull ZoneLoad load) {
+  long start = System.nanoTime();
+  List<Zone> active = new ArrayList<>();
+  Map<String, String> dormant = new HashMap<>();
+  List<ZoneRecord> records = new ArrayList<>(load.parsed.size());
+  for (ParsedZone parsed : load.parsed) {
+   World world = load.worlds.get(parsed.record().worldName());
+   if (world != null) {
+    active.add(parsed.toZone(world));
+   } else {
+    dormant.put(parsed.record().name(), parsed.record().worldName());
+   }
+   records.add(parsed.record());
+  }
+  mergeZones(active, dormant);
+  store(current -> current.upsertAll(records)); // One transaction or one coalesced save for the whole import
+  plugin.getSettings().log(Level.INFO, "Imported " + records.size() + " zones (" + dormant.size() + " dormant; parse "
+          + millis(load.parseNanos) + " ms, worlds " + millis(load.resolveNanos) + " ms on the main thread, index "
+          + millis(System.nanoTime() - start) + " ms).");
+  return records.size();
+ }
 
-    try {
-     String worldName = zoneConfig.getString("world");
-     World world = null;
-     if (worldName != null) {
-      world = Bukkit.getWorld(worldName);
-     }
-     if (world == null) {
-      plugin.getSettings().log(Level.WARNING, "World '" + worldName + "' for zone '" + zoneName + "' not found on the server. Skipping this zone.");
-      continue;
-     }
-
-     // Correctly read Vector from nested x, y, z values.
-     // ConfigurationSection.getVector() expects a directly serialized Vector,
-     // but the config stores x, y, z as individual keys.
-     ConfigurationSection corner1Section = zoneConfig.getConfigurationSection("corner1");
-     ConfigurationSection corner2Section = zoneConfig.getConfigurationSection("corner2");
-
-     Vector corner1 = null;
-     if (corner1Section != null) {
-      corner1 = new Vector(
-              corner1Section.getDouble("x"),
-              corner1Section.getDouble("y"),
-              corner1Section.getDouble("z")
-      );
-     }
-
-     Vector corner2 = null;
-     if (corner2Section != null) {
-      corner2 = new Vector(
-              corner2Section.getDouble("x"),
-              corner2Section.getDouble("y"),
-              corner2Section.getDouble("z")
-      );
-     }
-
-     // Ensure both corners are not null before creating the Zone
-     if (corner1 == null || corner2 == null) {
-      plugin.getSettings().log(Level.SEVERE, "Failed to load zone '" + zoneName + "': Missing 'corner1' or 'corner2' coordinates. Please define x, y, z for both corners.");
-      continue; // Skip this zone if corners are invalid
-     }
-
-     // Parse default action, defaulting to ALERT if not specified or invalid
-     Zone.Action defaultAction = Zone.Action.ALERT; // Default to ALERT
-     String defaultActionString = zoneConfig.getString("default-action");
-     if (defaultActionString != null) {
-      try {
-       defaultAction = Zone.Action.valueOf(defaultActionString.toUpperCase());
-      } catch (IllegalArgumentException e) {
-       plugin.getSettings().log(Level.WARNING, "Invalid default-action '" + defaultActionString + "' for zone '" + zoneName + "'. Defaulting to ALERT.");
-      }
-     }
-
-     // Parse material-specific actions
-     Map<Material, Zone.Action> materialActions = new EnumMap<>(Material.class);
-     ConfigurationSection actionsSection = zoneConfig.getConfigurationSection("material-actions");
-     if (actionsSection != null) {
-      for (String materialKey : actionsSection.getKeys(false)) {
-       Material material = Material.getMaterial(materialKey.toUpperCase());
-       String actionString = actionsSection.getString(materialKey);
-       if (material != null && actionString != null) {
-        try {
-         Zone.Action action = Zone.Action.valueOf(actionString.toUpperCase());
-         materialActions.put(material, action);
-        } catch (IllegalArgumentException e) {
-         plugin.getSettings().log(Level.WARNING, "Invalid action '" + actionString + "' for material '" + materialKey + "' in zone '" + zoneName + "'. Skipping this material action.");
-        }
-       } else {
-        plugin.getSettings().log(Level.WARNING, "Invalid material name '" + materialKey + "' or action string for material in zone '" + zoneName + "'. Skipping.");
-       }
-      }
-     }
-
-     // Create and store the new Zone object
-     Zone zone = new Zone(zoneName, world, corner1, corner2, defaultAction, materialActions);
-     zones.put(zone.getName(), zone);
-
-    } catch (Exception e) {
-     // Log any other unexpected errors during zone loading
-     plugin.getLogger().log(Level.SEVERE, "An unexpected error occurred while loading zone '" + zoneName + "': " + e.getMessage(), e);
+ /**
+  * Publishes the current zones merged with imported ones in one snapshot. The next generation is built
+  * without holding the monitor, so edits on the main thread never wait for a large import; if one
+  * happens meanwhile, the merge is redone on top of it.
+  *
+  * @param active  The imported zones whose world is loaded.
+  * @param dormant The names of imported zones whose world is not loaded, mapped to their world name.
+  */
+ private void mergeZones(@NotNull List<Zone> active, @NotNull Map<String, String> dormant) {
+  while (true) {
+   ZoneSnapshot current = snapshot;
+   Map<String, Zone> byName = new HashMap<>(current.getZonesByName());
+   List<Zone> replaced = new ArrayList<>();
+   for (Zone zone : active) {
+    Zone previous = byName.put(zone.getName(), zone);
+    if (previous != null) {
+     replaced.add(previous);
+    }
+   }
+   for (String name : dormant.keySet()) {
+    Zone previous = byName.remove(name); // Now defined in a world that is not loaded
+    if (previous != null) {
+     replaced.add(previous);
+    }
+   }
+   ZoneIndex index;
+   if ((active.size() + replaced.size()) * 4L < byName.size()) {
+    // A small import into many zones: patch a copy of the current index
+    index = current.getIndex().copy();
+    index.update(replaced, active); // One rebuild per world for indexes that rebuild on change
+   } else {
+    index = plugin.getSettings().getZoneIndexType().create();
+    index.bulkLoad(byName.values());
+   }
+   synchronized (this) {
+    if (snapshot != current) {
+     continue; // Changed while merging; merge again on top of the change
     }
+    ruleSets.adopt(active);
+    publish(byName, index);
+    active.forEach(zone -> dormantZones.remove(zone.getName()));
+    dormantZones.putAll(dormant);
+    if (!replaced.isEmpty()) {
+     ruleSets.retainUsedBy(byName.values());
+    }
+   }
+   return;
+  }
+ }
+
+ /**
+  * Releases the zones of a world that is being unloaded from the lookup. They stay in the storage
+  * as dormant zones and are activated again when the world loads.
+  *
+  * @param world The world being unloaded.
+  */
+ public void deactivateWorld(@NotNull World world) {
+  UUID worldId = world.getUID();
+  String worldName = world.getName();
+  lastLoad.thenRun(() -> { // Runs right away unless a full load is still in progress
+   int released = removeWorldZones(worldId, worldName);
+   if (released > 0) {
+    plugin.getSettings().log(Level.INFO, "Released " + released + " zones of unloaded world '" + worldName + "'.");
    }
-   // Log the total number of zones loaded
-   plugin.getSettings().log(Level.INFO, "Loaded " + zones.size() + " zones.");
   });
  }
 
  /**
-  * Saves all zones to the configuration file.
-  * Can be run asynchronously or synchronously.
+  * Gets the world of a dormant zone, that is, a stored zone whose world is not loaded.
+  *
+  * @param zoneName The name of the zone (case-insensitive).
+  * @return The world name if the zone is dormant, otherwise null.
+  */
+ @Nullable
+ public String getDormantWorld(@NotNull String zoneName) {
+  return dormantZones.get(zoneName.toLowerCase());
+ }
+
+ /**
+  * @return The number of stored zones whose world is not loaded.
+  */
+ public int getDormantCount() {
+  return dormantZones.size();
+ }
+
+ private synchronized void putWorldZones(@NotNull String worldName, @NotNull List<Zone> zones) {
+  ZoneSnapshot current = snapshot;
+  Map<String, Zone> byName = new HashMap<>(current.getZonesByName());
+  ZoneIndex index = current.getIndex().copy();
+  List<Zone> replaced = new ArrayList<>();
+  for (Zone zone : zones) {
+   Zone previous = byName.put(zone.getName(), zone);
+   if (previous != null) {
+    replaced.add(previous);
+   }
+  }
+  index.update(replaced, zones);
+  ruleSets.adopt(zones);
+  publish(byName, index);
+  dormantZones.values().removeIf(worldName::equals);
+ }
+
+ private synchronized int removeWorldZones(@NotNull UUID worldId, @NotNull String worldName) {
+  ZoneSnapshot current = snapshot;
+  Map<String, Zone> byName = new HashMap<>(current.getZonesByName());
+  ZoneIndex index = current.getIndex().copy();
+  List<Zone> released = new ArrayList<>();
+  byName.values().removeIf(zone -> {
+   if (!zone.getWorldId().equals(worldId)) {
+    return false;
+   }
+   released.add(zone);
+   return true;
+  });
+  if (released.isEmpty()) {
+   return 0;
+  }
+  index.update(released, List.of());
+  released.forEach(zone -> dormantZones.put(zone.getName(), worldName));
+  publish(byName, index);
+  ruleSets.retainUsedBy(byName.values());
+  return released.size();
+ }
+
+ /**
+  * Returns the open storage of the configured type, replacing the current one if the type changed.
+  */
+ @NotNull
+ private ZoneStorage openStorage() throws IOException {
+  synchronized (storageLock) {
+   ZoneStorage.Type type = plugin.getSettings().getStorageType();
+   if (storage != null && storage.getType() == type) {
+    return storage;
+   }
+   ZoneStorage opened = createStorage(type);
+   opened.open();
+   if (storage != null) {
+    storage.close();
+   }
+   storage = opened;
+   return opened;
+  }
+ }
+
+ /**
+  * Creates an unopened storage of the given type, behind the binary cache if it is enabled.
+  */
+ @NotNull
+ private ZoneStorage createStorage(@NotNull ZoneStorage.Type type) {
+  ZoneStorage created = type.create(plugin);
+  return plugin.getSettings().isZoneCacheEnabled() ? new CachingZoneStorage(plugin, created) : created;
+ }
+
+ /**
+  * Bulk-loads freshly parsed zones into a new index of the configured type and publishes them
+  * as the next snapshot, replacing the current zones in one step.
+  *
+  * @param loaded  The parsed zones, keyed by name.
+  * @param dormant The names of zones whose world is not loaded, mapped to their world name.
+  */
+ private void publishLoadedZones(@NotNull Map<String, Zone> loaded, @NotNull Map<String, String> dormant) {
+  ZoneIndex index = plugin.getSettings().getZoneIndexType().create();
+  index.bulkLoad(loaded.values());
+  synchronized (this) {
+   ruleSets.adopt(loaded.values()); // Rule sets may have been pruned by an edit since they were interned
+   publish(loaded, index);
+   dormantZones.clear();
+   dormantZones.putAll(dormant);
+   ruleSets.retainUsedBy(loaded.values()); // Release rule sets only the previous generation used
+  }
+ }
+
+ /**
+  * Publishes zones the way a completed load does, in one bulk index build, without reading the storage.
+  * Used by the benchmarks to load synthetic zones.
+  *
+  * @param zones The zones to publish, replacing all current zones.
+  */
+ @VisibleForTesting
+ public void publishZones(@NotNull Collection<Zone> zones) {
+  Map<String, Zone> loaded = new HashMap<>();
+  zones.forEach(zone -> loaded.put(zone.getName(), zone));
+  publishLoadedZones(loaded, Map.of());
+ }
+
+ /**
+  * Publishes the next snapshot. Must be called while holding the monitor.
+  * Neither argument may be modified afterwards.
+  */
+ private void publish(@NotNull Map<String, Zone> zones, @NotNull ZoneIndex index) {
+  snapshot = new ZoneSnapshot(snapshot.getEpoch() + 1, zones, index);
+  rebuildRelevance();
+ }
+
+ /**
+  * Rebuilds the relevance pre-filter from the current zones, rules and ban list. Must be called while holding the monitor.
+  */
+ private void rebuildRelevance() {
+  relevance = RelevanceFilter.build(snapshot.getZones(), plugin.getSettings().getGlobalActionTable(),
+          plugin.getSettings().isDebugLogAllowedActions());
+ }
+
+ /**
+  * Checks through the relevance pre-filter whether an action needs evaluating at all.
+  * No zone lookup is done; a false result means no zone and no global ban cares about the action.
   *
-  * @param async If true, the save operation will be performed on an async thread.
-  */
- public void saveZones(boolean async) {
-  Runnable saveTask = () -> {
-   FileConfiguration config = plugin.getConfig();
-   // Clear the old "zones" section before writing to prevent stale data
-   config.set("zones", null);
-
-   for (Zone zone : zones.values()) {
-    String zonePath = "zones." + zone.getName();
-    config.set(zonePath + ".world", zone.getWorldName());
-
-    // Save Vectors as nested x, y, z for readability in config
-    config.set(zonePath + ".corner1.x", zone.getMin().getX());
-    config.set(zonePath + ".corner1.y", zone.getMin().getY());
-    config.set(zonePath + ".corner1.z", zone.getMin().getZ());
-    config.set(zonePath + ".corner2.x", zone.getMax().getX());
-    config.set(zonePath + ".corner2.y", zone.getMax().getY());
-    config.set(zonePath + ".corner2.z", zone.getMax().getZ());
-
-    config.set(zonePath + ".default-action", zone.getDefaultAction().name());
-
-    if (!zone.getMaterialActions().isEmpty()) {
-     zone.getMaterialActions().forEach((material, action) -> {
-      config.set(zonePath + ".material-actions." + material.name(), action.name());
-     });
+  * @param worldId  The UUID of the world the action happens in.
+  * @param material The material involved.
+  * @return false if the action can be ignored.
+  */
+ public boolean isRelevant(@NotNull UUID worldId, @NotNull Material material) {
+  relevanceChecks.increment();
+  if (relevance.test(worldId, material)) {
+   return true;
+  }
+  relevanceRejections.increment();
+  return false;
+ }
+
+ public long getRelevanceChecks() {
+  return relevanceChecks.sum();
+ }
+
+ public long getRelevanceRejections() {
+  return relevanceRejections.sum();
+ }
+
+ /**
+  * Writes the zones section of the given configuration when zones are stored in config.yml.
+  * Called by the SaveScheduler on its worker thread while holding the config lock.
+  *
+  * @param config The configuration to write to.
+  * @return The number of zones written, or -1 if zones are stored elsewhere.
+  */
+ int writeZones(@NotNull FileConfiguration config) {
+  ZoneStorage current = storage;
+  return current == null ? -1 : current.writeTo(config);
+ }
+
+ /**
+  * Copies every stored zone into a storage of another type and switches to it.
+  * The zones are not reloaded, since the stored contents are identical.
+  * Blocks on I/O, so it must not be called on the main thread.
+  *
+  * @param target The storage type to migrate to.
+  * @return The number of zones migrated.
+  * @throws IOException If the zones cannot be read or written.
+  */
+ public int migrate(@NotNull ZoneStorage.Type target) throws IOException {
+  int migrated;
+  synchronized (storageLock) {
+   ZoneStorage source = openStorage();
+   if (source.getType() == target) {
+    return 0;
+   }
+   source.flush(); // Make sure queued edits reach the source before it is read
+   List<ZoneRecord> records = source.loadAll();
+   ZoneStorage destination = createStorage(target);
+   destination.open();
+   destination.replaceAll(records);
+   storage = destination;
+   source.close();
+   migrated = records.size();
+   // Switch the setting before releasing the lock, or the next openStorage() would reopen the old backend
+   plugin.getSettings().setStorageType(target);
+   plugin.getSaveScheduler().editConfig(config -> {
+    config.set("settings.storage", target.name());
+    if (target != ZoneStorage.Type.YAML) {
+     config.set("zones", null); // The zones now live in the new backend
     }
+   });
+  }
+  plugin.getSettings().log(Level.INFO, "Migrated " + migrated + " zones to " + target + " storage.");
+  return migrated;
+ }
+
+ /**
+  * @return The type of the storage zones are currently kept in.
+  */
+ @NotNull
+ public ZoneStorage.Type getStorageType() {
+  ZoneStorage current = storage;
+  return current != null ? current.getType() : plugin.getSettings().getStorageType();
+ }
+
+ /**
+  * Writes any queued zone changes and closes the storage. Called on disable, after the last config save.
+  */
+ public void closeStorage() {
+  synchronized (storageLock) {
+   if (storage != null) {
+    storage.close();
+    storage = null;
    }
-   // Save the configuration file to disk
-   plugin.saveConfig();
-   plugin.getSettings().log(Level.INFO, "Successfully saved " + zones.size() + " zones.");
-  };
-
-  // Execute the save task either asynchronously or synchronously
-  if (async) {
-   // Using Bukkit's scheduler for async tasks to ensure thread safety with Bukkit API calls
-   plugin.getServer().getScheduler().runTaskAsynchronously(plugin, saveTask);
-  } else {
-   saveTask.run(); // Execute on the current thread
   }
  }
 
  /**
-  * Adds or updates a zone in memory and triggers an asynchronous save to config.
+  * Passes a zone change on to the storage. Never blocks.
+  */
+ private void store(@NotNull Consumer<ZoneStorage> change) {
+  ZoneStorage current = storage;
+  if (current == null) {
+   plugin.getLogger().warning("Zone storage is not open yet; the change will not be saved.");
+   return;
+  }
+  change.accept(current);
+ }
+
+ /**
+  * Adds or updates a zone in memory and passes it on to the storage.
   *
   * @param zone The zone to add or update.
   */
  public void addOrUpdateZone(@NotNull Zone zone) {
-  zones.put(zone.getName(), zone);
-  saveZones(true); // Save asynchronously to prevent server lag
+  putZone(zone);
+  store(current -> current.upsert(ZoneRecord.of(zone))); // Written off the main thread
+ }
+
+ /**
+  * Publishes a snapshot containing the given zone, replacing any previous zone with the same name.
+  * The index is updated incrementally on a copy of the current one.
+  *
+  * @param zone The zone to store.
+  */
+ private synchronized void putZone(@NotNull Zone zone) {
+  ZoneSnapshot current = snapshot;
+  Map<String, Zone> zones = new HashMap<>(current.getZonesByName());
+  ZoneIndex index = current.getIndex().copy();
+  Zone previous = zones.put(zone.getName(), zone);
+  if (previous != null) {
+   index.remove(previous);
+  }
+  index.add(zone);
+  ruleSets.adopt(zone);
+  publish(zones, index);
+  if (previous != null) {
+   ruleSets.retainUsedBy(zones.values());
+  }
+ }
+
+ /**
+  * Returns the shared rule set for the given rules, so identical zones reuse one instance.
+  * Use this when constructing zones.
+  *
+  * @param defaultAction   The default action for materials not specifically defined.
+  * @param materialActions A map of materials to their specific actions.
+  * @return The interned RuleSet.
+  */
+ @NotNull
+ public RuleSet internRules(@NotNull Zone.Action defaultAction, @NotNull Map<Material, Zone.Action> materialActions) {
+  return ruleSets.intern(defaultAction, materialActions);
  }
 
  /**
-  * Removes a zone from memory and triggers an asynchronous save to config.
+  * @return The registry of interned rule sets.
+  */
+ @NotNull
+ public RuleSetRegistry getRuleSetRegistry() {
+  return ruleSets;
+ }
+
+ /**
+  * Recompiles every rule set's decision table against the current global ban list.
+  * Called by Settings whenever the ban list changes and on every reload.
+  */
+ public void recompileActionTables() {
+  ruleSets.recompile(plugin.getSettings().getGloballyBannedMaterials());
+  synchronized (this) {
+   rebuildRelevance(); // The ban list and the debug flag both feed into the filter
+  }
+ }
+
+ /**
+  * Removes a zone from memory and from the storage.
   *
   * @param zoneName The name of the zone to remove.
   * @return true if the zone was found and removed, false otherwise.
   */
  public boolean removeZone(@NotNull String zoneName) {
-  Zone removed = zones.remove(zoneName.toLowerCase()); // Ensure case-insensitive removal
+  Zone removed;
+  synchronized (this) {
+   ZoneSnapshot current = snapshot;
+   Map<String, Zone> zones = new HashMap<>(current.getZonesByName());
+   removed = zones.remove(zoneName.toLowerCase()); // Ensure case-insensitive removal
+   if (removed != null) {
+    ZoneIndex index = current.getIndex().copy();
+    index.remove(removed);
+    publish(zones, index);
+    ruleSets.retainUsedBy(zones.values());
+   }
+  }
   if (removed != null) {
-   saveZones(true); // Save asynchronously
+   store(current -> current.delete(removed.getName()));
    return true;
   }
   return false;
@@ -225,35 +708,84 @@ public class ZoneManager {
   */
  @Nullable
  public Zone getZone(@NotNull String zoneName) {
-  return zones.get(zoneName.toLowerCase()); // Ensure case-insensitive retrieval
+  return snapshot.getZone(zoneName.toLowerCase()); // Ensure case-insensitive retrieval
  }
 
  /**
   * Finds the first zone that contains the given location.
-  * This method performs a linear scan through all loaded zones.
+  * The lookup is delegated to the configured spatial index (see {@code settings.zone-index}).
   *
   * @param location The location to check.
   * @return The Zone object if found, otherwise null.
   */
  @Nullable
  public Zone getZoneAt(@NotNull Location location) {
-  // This linear scan is acceptable for a moderate number of zones.
-  // For servers with hundreds/thousands of zones, a spatial partitioning data structure (e.g., Quadtree/Octree) would be more performant.
-  for (Zone zone : zones.values()) {
-   if (zone.contains(location)) {
-    return zone;
-   }
-  }
-  return null;
+  return getZoneAt(location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+ }
+
+ /**
+  * Finds the first zone that contains the given block position without allocating.
+  *
+  * @param worldId The UUID of the block's world.
+  * @param x       The block X coordinate.
+  * @param y       The block Y coordinate.
+  * @param z       The block Z coordinate.
+  * @return The Zone object if found, otherwise null.
+  */
+ @Nullable
+ public Zone getZoneAt(@NotNull UUID worldId, int x, int y, int z) {
+  long start = metrics.startTimer();
+  Zone zone = snapshot.find(worldId, x, y, z);
+  metrics.recordZoneLookup(start);
+  return zone;
  }
 
  /**
   * Retrieves all currently loaded zones.
   *
-  * @return A collection of all Zone objects.
+  * @return An unmodifiable collection of all Zone objects in the current snapshot.
   */
  @NotNull
  public Collection<Zone> getAllZones() {
-  return zones.values();
+  return snapshot.getZones();
+ }
+
+ /**
+  * Gets the current zone snapshot. The returned snapshot never changes;
+  * compare {@link ZoneSnapshot#getEpoch()} values to detect newer generations.
+  *
+  * @return The current ZoneSnapshot.
+  */
+ @NotNull
+ public ZoneSnapshot getSnapshot() {
+  return snapshot;
+ }
+
+ /**
+  * State handed from one load step to the next. Each step runs after the previous one has completed,
+  * so the CompletableFuture chain provides the necessary visibility.
+  */
+ private static final class ZoneLoad {
+  private List<ParsedZone> parsed = List.of();
+  private final Map<String, World> worlds = new HashMap<>();
+  private long parseNanos;
+  private long resolveNanos;
+ }
+
+ /**
+  * A validated record with its interned rules.
+  */
+ private record ParsedZone(ZoneRecord record, RuleSet rules) {
+
+  Zone toZone(World world) {
+   return new Zone(record.name(), world, record.minX(), record.minY(), record.minZ(),
+           record.maxX(), record.maxY(), record.maxZ(), rules);
+  }
+ }
+
+ /**
+  * Identifies a distinct rule set during a load.
+  */
+ private record RuleKey(Zone.Action defaultAction, Map<Material, Zone.Action> materialActions) {
  }
-}
\ No newline at end of file
+}
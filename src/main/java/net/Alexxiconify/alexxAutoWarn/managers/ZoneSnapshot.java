@@ -0,0 +1,108 @@
+package net.alexxiconify.alexxAutoWarn.managers;
+
+import net.alexxiconify.alexxAutoWarn.index.ChunkZoneIndex;
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An immutable, complete view of all zones together with the spatial index built over them.
+ * The ZoneManager publishes a new snapshot with a single atomic swap on every change, so readers
+ * always see one consistent generation without taking a lock.
+ * <p>
+ * Every snapshot carries a strictly increasing epoch number, which lets caches detect
+ * that the zones they were derived from have changed with a single comparison.
+ */
+public final class ZoneSnapshot {
+
+ static final ZoneSnapshot EMPTY = new ZoneSnapshot(0L, Map.of(), new ChunkZoneIndex());
+
+ private final long epoch;
+ private final Map<String, Zone> zones;
+ private final ZoneIndex index;
+
+ /**
+  * @param epoch The generation number of this snapshot.
+  * @param zones All zones, keyed by lowercase name. The map must not be modified afterwards.
+  * @param index The spatial index over exactly these zones. It must not be modified afterwards.
+  */
+ ZoneSnapshot(long epoch, @NotNull Map<String, Zone> zones, @NotNull ZoneIndex index) {
+  this.epoch = epoch;
+  this.zones = Collections.unmodifiableMap(zones);
+  this.index = index;
+ }
+
+ /**
+  * @return The generation number of this snapshot.
+  */
+ public long getEpoch() {
+  return epoch;
+ }
+
+ /**
+  * Retrieves a zone by its name.
+  *
+  * @param zoneName The lowercase name of the zone.
+  * @return The Zone object if found, otherwise null.
+  */
+ @Nullable
+ public Zone getZone(@NotNull String zoneName) {
+  return zones.get(zoneName);
+ }
+
+ /**
+  * @return An unmodifiable view of all zones in this snapshot.
+  */
+ @NotNull
+ public Collection<Zone> getZones() {
+  return zones.values();
+ }
+
+ /**
+  * @return An unmodifiable view of all zones in this snapshot, keyed by name.
+  */
+ @NotNull
+ public Map<String, Zone> getZonesByName() {
+  return zones;
+ }
+
+ /**
+  * @return The spatial index of this snapshot. Must be treated as read-only.
+  */
+ @NotNull
+ ZoneIndex getIndex() {
+  return index;
+ }
+
+ /**
+  * Finds the first zone that contains the given block position.
+  *
+  * @param worldId The UUID of the block's world.
+  * @param x       The block X coordinate.
+  * @param y       The block Y coordinate.
+  * @param z       The block Z coordinate.
+  * @return The Zone object if found, otherwise null.
+  */
+ @Nullable
+ public Zone find(@NotNull UUID worldId, int x, int y, int z) {
+  return index.find(worldId, x, y, z);
+ }
+
+ /**
+  * Tells whether a zone is the only zone overlapping a chunk column, so a lookup result can be reused within it.
+  *
+  * @param zone   A zone of this snapshot.
+  * @param chunkX The chunk X coordinate.
+  * @param chunkZ The chunk Z coordinate.
+  * @return true if no other zone overlaps the column.
+  */
+ public boolean isSoleZoneInChunk(@NotNull Zone zone, int chunkX, int chunkZ) {
+  return index.isSoleZoneInChunk(zone, chunkX, chunkZ);
+ }
+}
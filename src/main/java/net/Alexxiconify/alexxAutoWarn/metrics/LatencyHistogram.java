@@ -0,0 +1,151 @@
+package net.alexxiconify.alexxAutoWarn.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with logarithmic buckets, in the style of HdrHistogram.
+ * <p>
+ * Values below 8 ns get a bucket each; above that, every power of two is split into 8 linear sub-buckets,
+ * so a reported percentile is never more than 12.5% above the true value. Recording is a few shifts and
+ * one atomic increment on a fixed array, so it never allocates and never blocks.
+ */
+public final class LatencyHistogram {
+
+ private static final int SUB_BUCKET_BITS = 3;
+ private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+ private static final int MAX_EXPONENT = 40; // About 18 minutes in nanoseconds; anything longer lands in the last bucket
+ private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+ private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+ private final LongAdder totalNanos = new LongAdder();
+ private final AtomicLong maxNanos = new AtomicLong();
+
+ /**
+  * Records one measurement.
+  *
+  * @param nanos The measured duration in nanoseconds.
+  */
+ public void record(long nanos) {
+  long value = Math.max(0L, nanos);
+  counts.incrementAndGet(bucketOf(value));
+  totalNanos.add(value);
+  if (value > maxNanos.get()) {
+   maxNanos.accumulateAndGet(value, Math::max);
+  }
+ }
+
+ /**
+  * Clears all measurements. Measurements recorded concurrently may survive the reset.
+  */
+ public void reset() {
+  for (int i = 0; i < BUCKETS; i++) {
+   counts.set(i, 0L);
+  }
+  totalNanos.reset();
+  maxNanos.set(0L);
+ }
+
+ /**
+  * Copies the current state, so percentiles can be computed without racing further recordings.
+  *
+  * @return The copy.
+  */
+ @NotNull
+ public Snapshot snapshot() {
+  long[] copy = new long[BUCKETS];
+  long count = 0L;
+  for (int i = 0; i < BUCKETS; i++) {
+   copy[i] = counts.get(i);
+   count += copy[i];
+  }
+  return new Snapshot(copy, count, totalNanos.sum(), maxNanos.get());
+ }
+
+ private static int bucketOf(long value) {
+  if (value < SUB_BUCKETS) {
+   return (int) value;
+  }
+  int exponent = 63 - Long.numberOfLeadingZeros(value);
+  if (exponent > MAX_EXPONENT) {
+   return BUCKETS - 1;
+  }
+  int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+  return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+ }
+
+ /**
+  * @return The largest value that falls into the given bucket.
+  */
+ private static long highestValueOf(int bucket) {
+  if (bucket < SUB_BUCKETS) {
+   return bucket;
+  }
+  int shift = bucket / SUB_BUCKETS - 1; // Width of a sub-bucket is 2^shift
+  long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+  return lowest + (1L << shift) - 1;
+ }
+
+ /**
+  * A point-in-time copy of a histogram.
+  */
+ public static final class Snapshot {
+
+  private final long[] counts;
+  private final long count;
+  private final long totalNanos;
+  private final long maxNanos;
+
+  private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+   this.counts = counts;
+   this.count = count;
+   this.totalNanos = totalNanos;
+   this.maxNanos = maxNanos;
+  }
+
+  /**
+   * @return The number of recorded measurements.
+   */
+  public long getCount() {
+   return count;
+  }
+
+  /**
+   * @return The mean in nanoseconds, or 0 if nothing was recorded.
+   */
+  public double getMeanNanos() {
+   return count == 0 ? 0.0 : (double) totalNanos / count;
+  }
+
+  /**
+   * @return The largest recorded value in nanoseconds.
+   */
+  public long getMaxNanos() {
+   return maxNanos;
+  }
+
+  /**
+   * Gets the value below which the given share of measurements fall.
+   *
+   * @param percentile The percentile, between 0 and 100.
+   * @return The upper bound of the bucket holding that percentile in nanoseconds, capped at the maximum.
+   */
+  public long getPercentileNanos(double percentile) {
+   if (count == 0) {
+    return 0L;
+   }
+   long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+   long seen = 0L;
+   for (int i = 0; i < counts.length; i++) {
+    seen += counts[i];
+    if (seen >= rank) {
+     return Math.min(highestValueOf(i), maxNanos);
+    }
+   }
+   return maxNanos;
+  }
+ }
+}
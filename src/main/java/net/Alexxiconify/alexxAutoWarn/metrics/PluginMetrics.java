@@ -0,0 +1,213 @@
+package net.alexxiconify.alexxAutoWarn.metrics;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the main-thread cost of the plugin: a latency histogram per handled event type and for zone lookups,
+ * a counter per resulting action, and per-zone hit counters (see {@link ZoneHitCounters}). Recording is lock-free
+ * and, apart from the first hit of a zone or material, allocation-free. It can be switched off entirely through
+ * {@code settings.metrics.enabled}.
+ * <p>
+ * Callers time a section with {@link #startTimer()} and pass the returned value to one of the record methods;
+ * while metrics are disabled, no clock is read at all.
+ */
+public class PluginMetrics {
+
+ /**
+  * The timed event handlers.
+  */
+ public enum Event {
+  BLOCK_PLACE("Block place"),
+  BUCKET_EMPTY("Bucket empty"),
+  INTERACT("Interact");
+
+  private final String label;
+
+  Event(String label) {
+   this.label = label;
+  }
+ }
+
+ private static final Event[] EVENTS = Event.values();
+ private static final Zone.Action[] ACTIONS = Zone.Action.values();
+
+ private final LatencyHistogram[] events = new LatencyHistogram[EVENTS.length];
+ private final LatencyHistogram zoneLookups = new LatencyHistogram();
+ private final LongAdder[] actions = new LongAdder[ACTIONS.length];
+ private final ZoneHitCounters zoneHits = new ZoneHitCounters(); // Since startup; not cleared by reset()
+ private volatile boolean enabled = true;
+ private volatile long sinceMillis = System.currentTimeMillis();
+
+ public PluginMetrics() {
+  for (int i = 0; i < events.length; i++) {
+   events[i] = new LatencyHistogram();
+  }
+  for (int i = 0; i < actions.length; i++) {
+   actions[i] = new LongAdder();
+  }
+ }
+
+ /**
+  * Starts timing a section.
+  *
+  * @return The start time to pass to a record method, or 0 if metrics are disabled.
+  */
+ public long startTimer() {
+  return enabled ? System.nanoTime() : 0L;
+ }
+
+ /**
+  * Records how long an event handler took.
+  *
+  * @param event The handled event type.
+  * @param start The value returned by {@link #startTimer()}.
+  */
+ public void recordEvent(@NotNull Event event, long start) {
+  if (start != 0L) {
+   events[event.ordinal()].record(System.nanoTime() - start);
+  }
+ }
+
+ /**
+  * Records how long a zone lookup took.
+  *
+  * @param start The value returned by {@link #startTimer()}.
+  */
+ public void recordZoneLookup(long start) {
+  if (start != 0L) {
+   zoneLookups.record(System.nanoTime() - start);
+  }
+ }
+
+ /**
+  * Counts one decided action.
+  *
+  * @param action The resulting action.
+  */
+ public void countAction(@NotNull Zone.Action action) {
+  if (enabled) {
+   actions[action.ordinal()].increment();
+  }
+ }
+
+ /**
+  * Counts one action in a zone, by action and material.
+  *
+  * @param zone     The zone the action happened in.
+  * @param material The material involved.
+  * @param action   The resulting action.
+  */
+ public void recordZoneHit(@NotNull Zone zone, @NotNull Material material, @NotNull Zone.Action action) {
+  if (enabled) {
+   zoneHits.record(zone, material, action);
+  }
+ }
+
+ /**
+  * @return The per-zone hit counters.
+  */
+ @NotNull
+ public ZoneHitCounters getZoneHits() {
+  return zoneHits;
+ }
+
+ /**
+  * Clears all histograms and action counters. Per-zone hits are kept, as they cover the time since startup.
+  */
+ public void reset() {
+  for (LatencyHistogram histogram : events) {
+   histogram.reset();
+  }
+  zoneLookups.reset();
+  for (LongAdder counter : actions) {
+   counter.reset();
+  }
+  sinceMillis = System.currentTimeMillis();
+ }
+
+ public boolean isEnabled() {
+  return enabled;
+ }
+
+ public void setEnabled(boolean enabled) {
+  this.enabled = enabled;
+ }
+
+ /**
+  * Summarizes the current state as labelled lines, in display order.
+  *
+  * @return Line labels mapped to their values.
+  */
+ @NotNull
+ public Map<String, String> report() {
+  Map<String, String> lines = new LinkedHashMap<>();
+  Duration collected = Duration.ofMillis(System.currentTimeMillis() - sinceMillis);
+  lines.put("Collected for", String.format("%dh %02dm %02ds%s", collected.toHours(), collected.toMinutesPart(),
+          collected.toSecondsPart(), enabled ? "" : " (disabled)"));
+  StringBuilder counts = new StringBuilder();
+  for (Zone.Action action : ACTIONS) {
+   if (!counts.isEmpty()) {
+    counts.append(", ");
+   }
+   counts.append(String.format("%,d %s", actions[action.ordinal()].sum(), action.name()));
+  }
+  lines.put("Actions", counts.toString());
+  for (Event event : EVENTS) {
+   lines.put(event.label, describe(events[event.ordinal()].snapshot(), "events"));
+  }
+  lines.put("Zone lookup", describe(zoneLookups.snapshot(), "lookups"));
+  return lines;
+ }
+
+ /**
+  * Writes the current report to a file, replacing it atomically.
+  *
+  * @param file The file to write.
+  * @throws IOException If the file cannot be written.
+  */
+ public void dump(@NotNull Path file) throws IOException {
+  Files.createDirectories(file.getParent());
+  Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+  try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+   writer.write("# AlexxAutoWarn statistics, written " + Instant.now());
+   writer.newLine();
+   for (Map.Entry<String, String> line : report().entrySet()) {
+    writer.write(line.getKey() + ": " + line.getValue());
+    writer.newLine();
+   }
+  }
+  try {
+   Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  } catch (AtomicMoveNotSupportedException e) {
+   Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+ }
+
+ private static String describe(LatencyHistogram.Snapshot snapshot, String unit) {
+  if (snapshot.getCount() == 0) {
+   return "no " + unit;
+  }
+  return String.format("%,d %s, mean %s, p50 %s, p99 %s, p99.9 %s, max %s", snapshot.getCount(), unit,
+          micros(snapshot.getMeanNanos()), micros(snapshot.getPercentileNanos(50)), micros(snapshot.getPercentileNanos(99)),
+          micros(snapshot.getPercentileNanos(99.9)), micros(snapshot.getMaxNanos()));
+ }
+
+ private static String micros(double nanos) {
+  return String.format("%.2f µs", nanos / 1000.0);
+ }
+}
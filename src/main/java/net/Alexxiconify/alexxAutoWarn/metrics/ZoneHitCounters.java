@@ -0,0 +1,162 @@
+package net.alexxiconify.alexxAutoWarn.metrics;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts, per zone, how many actions ended in each result and which materials were involved.
+ * <p>
+ * Counters are created on a zone's first hit and have a fixed size, so memory grows with the zones that
+ * see traffic, not with the zone count. Each zone tracks its {@link #MATERIALS_PER_ZONE} most frequent materials,
+ * replacing rarely seen ones as the mix changes; all other hits are summed up as "other". Counters are keyed by
+ * zone name, so they survive edits that replace the Zone instance; counters of removed zones are dropped on the
+ * next report.
+ */
+public class ZoneHitCounters {
+
+ static final int MATERIALS_PER_ZONE = 8;
+
+ private final Map<String, Hits> zones = new ConcurrentHashMap<>();
+
+ /**
+  * Counts one action in a zone.
+  *
+  * @param zone     The zone the action happened in.
+  * @param material The material involved.
+  * @param action   The resulting action.
+  */
+ public void record(@NotNull Zone zone, @NotNull Material material, @NotNull Zone.Action action) {
+  Hits hits = zones.get(zone.getName());
+  if (hits == null) {
+   hits = zones.computeIfAbsent(zone.getName(), name -> new Hits()); // Only on a zone's first hit
+  }
+  hits.record(material, action);
+ }
+
+ /**
+  * Finds the zones with the most hits.
+  *
+  * @param current The zones that currently exist; counters of any other zone are dropped.
+  * @param limit   The maximum number of zones to return.
+  * @return The hottest zones, most hits first.
+  */
+ @NotNull
+ public List<ZoneReport> top(@NotNull Map<String, Zone> current, int limit) {
+  zones.keySet().retainAll(current.keySet());
+  // A bounded min-heap keeps this O(hit zones * log limit)
+  PriorityQueue<ZoneReport> heap = new PriorityQueue<>(Comparator.comparingLong(ZoneReport::total));
+  zones.forEach((name, hits) -> {
+   ZoneReport report = hits.report(name);
+   if (heap.size() < limit) {
+    heap.add(report);
+   } else if (limit > 0 && report.total() > heap.peek().total()) {
+    heap.poll();
+    heap.add(report);
+   }
+  });
+  List<ZoneReport> result = new ArrayList<>(heap);
+  result.sort(Comparator.comparingLong(ZoneReport::total).reversed());
+  return result;
+ }
+
+ /**
+  * Finds the zones that have not been hit since startup.
+  *
+  * @param current The zones that currently exist.
+  * @return The names of the zones without hits, sorted.
+  */
+ @NotNull
+ public List<String> unhit(@NotNull Collection<String> current) {
+  List<String> names = new ArrayList<>();
+  for (String name : current) {
+   if (!zones.containsKey(name)) {
+    names.add(name);
+   }
+  }
+  names.sort(null);
+  return names;
+ }
+
+ /**
+  * The counters of one zone, in a few small fixed arrays (about 250 bytes), so even 100k busy zones stay cheap.
+  * Materials are tracked with the space-saving algorithm: once every slot is taken, a new material replaces the
+  * least counted one and inherits its count as an error bound. Any material with more than 1/{@link #MATERIALS_PER_ZONE}
+  * of the hits is therefore always tracked, however late it first shows up.
+  * Actions come from the main thread, so the monitor is never contended.
+  */
+ private static final class Hits {
+
+  private static final int ACTIONS = Zone.Action.values().length;
+
+  private final long[] counts = new long[ACTIONS]; // By action ordinal
+  private final Material[] materials = new Material[MATERIALS_PER_ZONE];
+  private final long[] materialCounts = new long[MATERIALS_PER_ZONE]; // Estimated hits, never below the true count
+  private final long[] errors = new long[MATERIALS_PER_ZONE]; // Hits inherited from the material a slot replaced
+
+  synchronized void record(Material material, Zone.Action action) {
+   counts[action.ordinal()]++;
+   int least = 0;
+   for (int i = 0; i < MATERIALS_PER_ZONE; i++) {
+    Material tracked = materials[i];
+    if (tracked == material) {
+     materialCounts[i]++;
+     return;
+    }
+    if (tracked == null) { // Slots fill up in order, so no later slot holds the material
+     materials[i] = material;
+     materialCounts[i] = 1L;
+     return;
+    }
+    if (materialCounts[i] < materialCounts[least]) {
+     least = i;
+    }
+   }
+   materials[least] = material;
+   errors[least] = materialCounts[least];
+   materialCounts[least]++;
+  }
+
+  synchronized ZoneReport report(String name) {
+   long[] byAction = counts.clone();
+   long total = 0L;
+   for (long count : byAction) {
+    total += count;
+   }
+   List<Map.Entry<Material, Long>> byMaterial = new ArrayList<>();
+   long attributed = 0L;
+   for (int i = 0; i < MATERIALS_PER_ZONE && materials[i] != null; i++) {
+    long guaranteed = materialCounts[i] - errors[i]; // Only the hits seen since the material took the slot
+    byMaterial.add(Map.entry(materials[i], guaranteed));
+    attributed += guaranteed;
+   }
+   byMaterial.sort(Map.Entry.<Material, Long>comparingByValue().reversed());
+   return new ZoneReport(name, total, byAction, byMaterial, total - attributed);
+  }
+ }
+
+ /**
+  * The counters of one zone at the time of a report.
+  *
+  * @param name           The zone name.
+  * @param total          All actions in the zone.
+  * @param byAction       Action counts, indexed by {@link Zone.Action#ordinal()}.
+  * @param byMaterial     The tracked materials with their hits since they were last tracked, most hits first.
+  * @param otherMaterials Hits not attributed to a tracked material.
+  */
+ public record ZoneReport(String name, long total, long[] byAction, List<Map.Entry<Material, Long>> byMaterial,
+                          long otherMaterials) {
+
+  public long count(@NotNull Zone.Action action) {
+   return byAction[action.ordinal()];
+  }
+ }
+}
@@ -0,0 +1,99 @@
+package net.alexxiconify.alexxAutoWarn.objects;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A flat, precompiled decision table indexed by {@link Material#ordinal()}.
+ * A zone's rules and the global ban list are folded into one table, so evaluating
+ * an action is a single array read once the zone is known.
+ * Instances are immutable; recompile a new table whenever the rules or the ban list change.
+ */
+public final class ActionTable {
+
+ /**
+  * Code for a material that is globally banned. Zone actions use their {@link Zone.Action#ordinal()}.
+  */
+ public static final byte GLOBAL_DENY = (byte) 3;
+
+ private static final Zone.Action[] ACTIONS = Zone.Action.values();
+ private static final int MATERIAL_COUNT = Material.values().length;
+
+ private final byte[] codes;
+
+ private ActionTable(byte[] codes) {
+  this.codes = codes;
+ }
+
+ /**
+  * Compiles a zone's rules together with the global ban list.
+  * Global bans take precedence over any zone-specific action.
+  *
+  * @param defaultAction   The zone's default action.
+  * @param materialActions The zone's material-specific actions.
+  * @param globallyBanned  The globally banned materials.
+  * @return The compiled table.
+  */
+ @NotNull
+ public static ActionTable compile(@NotNull Zone.Action defaultAction, @NotNull Map<Material, Zone.Action> materialActions,
+                                   @NotNull Set<Material> globallyBanned) {
+  byte[] codes = new byte[MATERIAL_COUNT];
+  Arrays.fill(codes, (byte) defaultAction.ordinal());
+  materialActions.forEach((material, action) -> codes[material.ordinal()] = (byte) action.ordinal());
+  for (Material material : globallyBanned) {
+   codes[material.ordinal()] = GLOBAL_DENY;
+  }
+  return new ActionTable(codes);
+ }
+
+ /**
+  * Compiles the table used outside of any zone: everything is allowed except globally banned materials.
+  *
+  * @param globallyBanned The globally banned materials.
+  * @return The compiled table.
+  */
+ @NotNull
+ public static ActionTable compileGlobal(@NotNull Set<Material> globallyBanned) {
+  return compile(Zone.Action.ALLOW, Map.of(), globallyBanned);
+ }
+
+ /**
+  * Looks up the decision code for a material.
+  *
+  * @param material The material to check.
+  * @return A {@link Zone.Action} ordinal, or {@link #GLOBAL_DENY}.
+  */
+ public byte get(@NotNull Material material) {
+  return codes[material.ordinal()];
+ }
+
+ /**
+  * Sets the bit of every material this table does not simply allow, that is, every material
+  * that is denied, alerted on or globally banned.
+  *
+  * @param bits A bitset indexed by {@link Material#ordinal()}, with room for every material.
+  */
+ public void markNotAllowed(long @NotNull [] bits) {
+  byte allow = (byte) Zone.Action.ALLOW.ordinal();
+  for (int i = 0; i < codes.length; i++) {
+   if (codes[i] != allow) {
+    bits[i >>> 6] |= 1L << i;
+   }
+  }
+ }
+
+ /**
+  * Converts a decision code back to the action it enforces.
+  *
+  * @param code The code returned by {@link #get(Material)}.
+  * @return The action; {@link #GLOBAL_DENY} maps to {@link Zone.Action#DENY}.
+  */
+ @NotNull
+ public static Zone.Action toAction(byte code) {
+  return code == GLOBAL_DENY ? Zone.Action.DENY : ACTIONS[code];
+ }
+}
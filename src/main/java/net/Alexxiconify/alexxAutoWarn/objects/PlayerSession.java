@@ -0,0 +1,85 @@
+package net.alexxiconify.alexxAutoWarn.objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Per-player state cached for the lifetime of a player's connection.
+ * Sessions are only read and written from the main server thread.
+ */
+public final class PlayerSession {
+
+ private final UUID playerId;
+ // Last zone resolved for this player, valid only in its chunk column and while the zone snapshot epoch is unchanged
+ private Zone lastZone;
+ private long lastZoneEpoch = -1L;
+ private int lastChunkX;
+ private int lastChunkZ;
+ // Set through /aw notify off; staff with the notify permission still receive nothing while muted
+ private boolean notificationsMuted;
+ // Cached autowarn.bypass permission, refreshed with the other permission-derived state
+ private boolean bypassing;
+
+ public PlayerSession(@NotNull UUID playerId) {
+  this.playerId = playerId;
+ }
+
+ @NotNull
+ public UUID getPlayerId() {
+  return playerId;
+ }
+
+ /**
+  * Returns the last resolved zone if it is still current, was resolved in the same chunk column
+  * and still contains the given block.
+  *
+  * @param epoch   The epoch of the current zone snapshot.
+  * @param worldId The UUID of the block's world.
+  * @param x       The block X coordinate.
+  * @param y       The block Y coordinate.
+  * @param z       The block Z coordinate.
+  * @return The cached zone, or null on a cache miss.
+  */
+ @Nullable
+ public Zone getCachedZone(long epoch, @NotNull UUID worldId, int x, int y, int z) {
+  Zone zone = lastZone;
+  if (zone != null && lastZoneEpoch == epoch && lastChunkX == x >> 4 && lastChunkZ == z >> 4 && zone.contains(worldId, x, y, z)) {
+   return zone;
+  }
+  return null;
+ }
+
+ /**
+  * Remembers the zone resolved for this player. Only cache a zone that no other zone overlaps within
+  * the chunk column, so a cache hit always agrees with a fresh lookup.
+  *
+  * @param zone   The resolved zone.
+  * @param epoch  The epoch of the snapshot it was resolved from.
+  * @param chunkX The chunk X coordinate it was resolved in.
+  * @param chunkZ The chunk Z coordinate it was resolved in.
+  */
+ public void setCachedZone(@NotNull Zone zone, long epoch, int chunkX, int chunkZ) {
+  this.lastZone = zone;
+  this.lastZoneEpoch = epoch;
+  this.lastChunkX = chunkX;
+  this.lastChunkZ = chunkZ;
+ }
+
+ public boolean isNotificationsMuted() {
+  return notificationsMuted;
+ }
+
+ public void setNotificationsMuted(boolean notificationsMuted) {
+  this.notificationsMuted = notificationsMuted;
+ }
+
+ public boolean isBypassing() {
+  return bypassing;
+ }
+
+ public void setBypassing(boolean bypassing) {
+  this.bypassing = bypassing;
+ }
+}
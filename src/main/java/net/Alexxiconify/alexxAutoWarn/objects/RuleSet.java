@@ -0,0 +1,104 @@
+package net.alexxiconify.alexxAutoWarn.objects;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The material rules of a zone: a default action plus material-specific overrides.
+ * Rule sets are value objects and are interned by the RuleSetRegistry, so every zone
+ * with identical rules shares one instance and one compiled {@link ActionTable}.
+ */
+public final class RuleSet {
+
+ private final Zone.Action defaultAction;
+ private final Map<Material, Zone.Action> materialActions;
+ private final int hash;
+ // Derived from the rules above plus the global ban list; compiled by the registry, replaced whenever the ban list changes
+ private volatile ActionTable actionTable;
+
+ /**
+  * Constructs a new rule set. Prefer {@code RuleSetRegistry.intern} so identical rules are shared.
+  * No action table is compiled here, so a candidate that turns out to be a duplicate costs no table.
+  *
+  * @param defaultAction   The default action for materials not specifically defined.
+  * @param materialActions A map of materials to their specific actions.
+  */
+ public RuleSet(@NotNull Zone.Action defaultAction, @NotNull Map<Material, Zone.Action> materialActions) {
+  this.defaultAction = defaultAction;
+  // Use EnumMap for performance with Material keys, and create an unmodifiable copy
+  // to maintain immutability from the outside.
+  this.materialActions = materialActions.isEmpty()
+          ? Collections.emptyMap() // Skip the Material-sized backing array for the common "no overrides" case
+          : Collections.unmodifiableMap(new EnumMap<>(materialActions));
+  this.hash = Objects.hash(defaultAction, this.materialActions);
+ }
+
+ /**
+  * Gets the specific action for a given material.
+  * If no specific action is defined for the material, the default action is returned.
+  *
+  * @param material The material to check.
+  * @return The Action for the material.
+  */
+ @NotNull
+ public Zone.Action getActionFor(@NotNull Material material) {
+  return materialActions.getOrDefault(material, defaultAction);
+ }
+
+ /**
+  * Gets the compiled decision table for these rules, including global bans.
+  *
+  * @return The current ActionTable.
+  */
+ @NotNull
+ public ActionTable getActionTable() {
+  ActionTable table = actionTable;
+  if (table == null) {
+   // Never registered; not cached, so it cannot overwrite a table compiled with the ban list
+   return ActionTable.compile(defaultAction, materialActions, Set.of());
+  }
+  return table;
+ }
+
+ /**
+  * Recompiles the decision table against the given global ban list.
+  *
+  * @param globallyBanned The globally banned materials.
+  */
+ public void compileActionTable(@NotNull Set<Material> globallyBanned) {
+  this.actionTable = ActionTable.compile(defaultAction, materialActions, globallyBanned);
+ }
+
+ @NotNull
+ public Zone.Action getDefaultAction() {
+  return defaultAction;
+ }
+
+ /**
+  * Gets an unmodifiable map of material-specific actions.
+  * @return An unmodifiable map of Material to Action.
+  */
+ @NotNull
+ public Map<Material, Zone.Action> getMaterialActions() {
+  return materialActions;
+ }
+
+ @Override
+ public boolean equals(Object o) {
+  if (this == o) return true;
+  if (o == null || getClass() != o.getClass()) return false;
+  RuleSet ruleSet = (RuleSet) o;
+  return hash == ruleSet.hash && defaultAction == ruleSet.defaultAction && materialActions.equals(ruleSet.materialActions);
+ }
+
+ @Override
+ public int hashCode() {
+  return hash;
+ }
+}
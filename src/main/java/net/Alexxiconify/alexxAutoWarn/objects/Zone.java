@@ -6,25 +6,25 @@ import org.bukkit.World;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collections;
-import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Represents a defined protection zone.
  * This class is immutable by design. Use the ZoneManager to create or modify zones.
+ * Material rules live in a shared, interned {@link RuleSet}.
+ * Bounds are kept as primitive block coordinates and the world as its UUID,
+ * so containment checks on the event hot path never allocate.
  */
 public final class Zone {
 
- private Map<Material, Action> currentMaterialActions;
- private Map<Material, Action> updatedMaterialActions;
  private final String name;
  private final String worldName;
- private final Vector min;
- private final Vector max;
- private final Action defaultAction;
- private final Map<Material, Action> materialActions;
+ private final UUID worldId;
+ private final int minX, minY, minZ;
+ private final int maxX, maxY, maxZ;
+ private final RuleSet rules;
 
  /**
   * Constructs a new protection zone.
@@ -33,21 +33,49 @@ public final class Zone {
   * @param world           The world the zone resides in.
   * @param corner1         The first corner of the zone's bounding box.
   * @param corner2         The second corner of the zone's bounding box.
-  * @param defaultAction   The default action for materials not specifically defined.
-  * @param materialActions A map of materials to their specific actions.
+  * @param rules           The zone's material rules, normally interned through the RuleSetRegistry.
   */
  public Zone(@NotNull String name, World world, @NotNull Vector corner1, @NotNull Vector corner2,
-             @NotNull Action defaultAction, @NotNull Map<Material, Action> materialActions) {
+             @NotNull RuleSet rules) {
   this.name = name.toLowerCase(); // Store zone name in lowercase for consistent lookups
-  this.worldName = world.getName();
-  // Calculate min/max vectors from corners to define the true bounding box,
+  this.worldName = world.getName().intern(); // Zones in the same world share one name instance
+  this.worldId = world.getUID();
+  // Calculate min/max block coordinates from corners to define the true bounding box,
   // ensuring min <= max for all axes regardless of corner input order.
-  this.min = Vector.getMinimum(corner1, corner2);
-  this.max = Vector.getMaximum(corner1, corner2);
-  this.defaultAction = defaultAction;
-  // Use EnumMap for performance with Material keys, and create an unmodifiable copy
-  // to maintain immutability from the outside.
-  this.materialActions = Collections.unmodifiableMap(new EnumMap<>(materialActions));
+  this.minX = Math.min(corner1.getBlockX(), corner2.getBlockX());
+  this.minY = Math.min(corner1.getBlockY(), corner2.getBlockY());
+  this.minZ = Math.min(corner1.getBlockZ(), corner2.getBlockZ());
+  this.maxX = Math.max(corner1.getBlockX(), corner2.getBlockX());
+  this.maxY = Math.max(corner1.getBlockY(), corner2.getBlockY());
+  this.maxZ = Math.max(corner1.getBlockZ(), corner2.getBlockZ());
+  this.rules = rules;
+ }
+
+ /**
+  * Constructs a new protection zone from already normalized block bounds, as read from storage.
+  *
+  * @param name  The unique name of the zone (case-insensitive).
+  * @param world The world the zone resides in.
+  * @param minX  The minimum block X coordinate.
+  * @param minY  The minimum block Y coordinate.
+  * @param minZ  The minimum block Z coordinate.
+  * @param maxX  The maximum block X coordinate.
+  * @param maxY  The maximum block Y coordinate.
+  * @param maxZ  The maximum block Z coordinate.
+  * @param rules The zone's material rules, normally interned through the RuleSetRegistry.
+  */
+ public Zone(@NotNull String name, World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+             @NotNull RuleSet rules) {
+  this.name = name.toLowerCase();
+  this.worldName = world.getName().intern();
+  this.worldId = world.getUID();
+  this.minX = Math.min(minX, maxX);
+  this.minY = Math.min(minY, maxY);
+  this.minZ = Math.min(minZ, maxZ);
+  this.maxX = Math.max(minX, maxX);
+  this.maxY = Math.max(minY, maxY);
+  this.maxZ = Math.max(minZ, maxZ);
+  this.rules = rules;
  }
 
 
@@ -58,8 +86,35 @@ public final class Zone {
   * @return true if the location is inside the zone, false otherwise.
   */
  public boolean contains(@NotNull Location loc) {
-  // Check if the world matches and the location's vector is within the zone's AABB (Axis-Aligned Bounding Box)
-  return loc.getWorld().getName().equals(this.worldName) && loc.toVector().isInAABB(min, max);
+  return contains(loc.getWorld().getUID(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+ }
+
+ /**
+  * Checks if a block position is within the bounds of this zone without allocating.
+  *
+  * @param worldId The UUID of the block's world.
+  * @param x       The block X coordinate.
+  * @param y       The block Y coordinate.
+  * @param z       The block Z coordinate.
+  * @return true if the position is inside the zone, false otherwise.
+  */
+ public boolean contains(@NotNull UUID worldId, int x, int y, int z) {
+  // Integer AABB test first, as it rejects most candidates before the world comparison
+  return x >= minX && x <= maxX
+          && y >= minY && y <= maxY
+          && z >= minZ && z <= maxZ
+          && (this.worldId == worldId || this.worldId.equals(worldId));
+ }
+
+ /**
+  * Checks if this zone overlaps a chunk column at any height.
+  *
+  * @param chunkX The chunk X coordinate.
+  * @param chunkZ The chunk Z coordinate.
+  * @return true if any block of the column lies within the zone's bounds.
+  */
+ public boolean overlapsChunk(int chunkX, int chunkZ) {
+  return minX >> 4 <= chunkX && maxX >> 4 >= chunkX && minZ >> 4 <= chunkZ && maxZ >> 4 >= chunkZ;
  }
 
  /**
@@ -71,7 +126,27 @@ public final class Zone {
   */
  @NotNull
  public Action getActionFor(@NotNull Material material) {
-  return materialActions.getOrDefault(material, defaultAction);
+  return rules.getActionFor(material);
+ }
+
+ /**
+  * Gets the compiled decision table for this zone, including global bans.
+  *
+  * @return The current ActionTable of the zone's rule set.
+  */
+ @NotNull
+ public ActionTable getActionTable() {
+  return rules.getActionTable();
+ }
+
+ /**
+  * Gets the (shared) rule set of this zone.
+  *
+  * @return The RuleSet.
+  */
+ @NotNull
+ public RuleSet getRules() {
+  return rules;
  }
 
  /**
@@ -96,22 +171,58 @@ public final class Zone {
   return worldName;
  }
 
+ /**
+  * Gets the UUID of the world this zone resides in.
+  *
+  * @return The world UUID.
+  */
+ @NotNull
+ public UUID getWorldId() {
+  return worldId;
+ }
+
  /**
   * Gets the minimum corner vector of the zone's bounding box.
+  * A new Vector is created on each call; prefer the primitive getters on hot paths.
   * @return The minimum Vector.
   */
  @NotNull
  public Vector getMin() {
-  return min;
+  return new Vector(minX, minY, minZ);
  }
 
  /**
   * Gets the maximum corner vector of the zone's bounding box.
+  * A new Vector is created on each call; prefer the primitive getters on hot paths.
   * @return The maximum Vector.
   */
  @NotNull
  public Vector getMax() {
-  return max;
+  return new Vector(maxX, maxY, maxZ);
+ }
+
+ public int getMinX() {
+  return minX;
+ }
+
+ public int getMinY() {
+  return minY;
+ }
+
+ public int getMinZ() {
+  return minZ;
+ }
+
+ public int getMaxX() {
+  return maxX;
+ }
+
+ public int getMaxY() {
+  return maxY;
+ }
+
+ public int getMaxZ() {
+  return maxZ;
  }
 
  /**
@@ -120,7 +231,7 @@ public final class Zone {
   */
  @NotNull
  public Action getDefaultAction() {
-  return defaultAction;
+  return rules.getDefaultAction();
  }
 
  /**
@@ -129,7 +240,7 @@ public final class Zone {
   */
  @NotNull
  public Map<Material, Action> getMaterialActions() {
-  return materialActions;
+  return rules.getMaterialActions();
  }
 
  @Override
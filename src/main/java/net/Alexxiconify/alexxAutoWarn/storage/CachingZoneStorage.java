@@ -0,0 +1,164 @@
+package net.alexxiconify.alexxAutoWarn.storage;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Puts the binary zones.bin cache in front of another storage to speed up startup.
+ * <p>
+ * {@link #loadAll()} reads the cache when it is newer than the underlying storage and otherwise
+ * falls back to a full load, after which the cache is rewritten. Changes go straight through to
+ * the underlying storage, which stays authoritative; the cache is rewritten when the storage is
+ * closed, so it is current after every clean shutdown. After a crash the storage is newer than
+ * the cache and the next load is a full one.
+ */
+public class CachingZoneStorage implements ZoneStorage {
+
+ private static final String FILE_NAME = "zones.bin";
+
+ private final AlexxAutoWarn plugin;
+ private final ZoneStorage delegate;
+ private final Path cacheFile;
+ private final Map<String, ZoneRecord> records = new ConcurrentHashMap<>(); // What the cache will be written from
+
+ /**
+  * Constructs a new CachingZoneStorage.
+  *
+  * @param plugin   The main AlexxAutoWarn plugin instance.
+  * @param delegate The authoritative storage.
+  */
+ public CachingZoneStorage(AlexxAutoWarn plugin, ZoneStorage delegate) {
+  this.plugin = plugin;
+  this.delegate = delegate;
+  this.cacheFile = new File(plugin.getDataFolder(), FILE_NAME).toPath();
+ }
+
+ @Override
+ public void open() throws IOException {
+  delegate.open();
+ }
+
+ @NotNull
+ @Override
+ public List<ZoneRecord> loadAll() throws IOException {
+  List<ZoneRecord> loaded = readCache();
+  if (loaded != null) {
+   delegate.adopt(loaded);
+  } else {
+   long start = System.nanoTime();
+   loaded = delegate.loadAll();
+   plugin.getSettings().log(Level.INFO, "Read " + loaded.size() + " zones from " + delegate.getType() + " storage in "
+           + (System.nanoTime() - start) / 1_000_000 + " ms.");
+   writeCache(loaded);
+  }
+  records.clear();
+  loaded.forEach(record -> records.put(record.name(), record));
+  return loaded;
+ }
+
+ @NotNull
+ @Override
+ public List<ZoneRecord> loadWorld(@NotNull String worldName) throws IOException {
+  return delegate.loadWorld(worldName);
+ }
+
+ @Override
+ public void upsert(@NotNull ZoneRecord zone) {
+  records.put(zone.name(), zone);
+  delegate.upsert(zone);
+ }
+
+ @Override
+ public void upsertAll(@NotNull Collection<ZoneRecord> zones) {
+  zones.forEach(record -> records.put(record.name(), record));
+  delegate.upsertAll(zones);
+ }
+
+ @Override
+ public void delete(@NotNull String zoneName) {
+  records.remove(zoneName);
+  delegate.delete(zoneName);
+ }
+
+ @Override
+ public void replaceAll(@NotNull Collection<ZoneRecord> zones) throws IOException {
+  delegate.replaceAll(zones);
+  records.clear();
+  zones.forEach(record -> records.put(record.name(), record));
+ }
+
+ @Override
+ public void adopt(@NotNull Collection<ZoneRecord> zones) {
+  delegate.adopt(zones);
+  records.clear();
+  zones.forEach(record -> records.put(record.name(), record));
+ }
+
+ @Override
+ public long getLastModified() {
+  return delegate.getLastModified();
+ }
+
+ @Override
+ public int writeTo(@NotNull FileConfiguration config) {
+  return delegate.writeTo(config);
+ }
+
+ @Override
+ public void flush() {
+  delegate.flush();
+ }
+
+ @Override
+ public void close() {
+  delegate.close();
+  writeCache(new ArrayList<>(records.values())); // Written last, so it is newer than the storage
+ }
+
+ @NotNull
+ @Override
+ public Type getType() {
+  return delegate.getType();
+ }
+
+ /**
+  * Returns the cached zones if the cache is newer than the storage, otherwise null.
+  */
+ private List<ZoneRecord> readCache() {
+  File file = cacheFile.toFile();
+  if (!file.isFile() || file.lastModified() <= delegate.getLastModified()) {
+   return null;
+  }
+  long start = System.nanoTime();
+  try {
+   List<ZoneRecord> cached = ZoneCacheFile.read(cacheFile, delegate.getType());
+   if (cached != null) {
+    plugin.getSettings().log(Level.INFO, "Read " + cached.size() + " zones from " + FILE_NAME + " in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms.");
+   }
+   return cached;
+  } catch (IOException e) {
+   plugin.getLogger().log(Level.WARNING, "Could not read " + FILE_NAME + "; loading zones from " + delegate.getType() + " storage instead.", e);
+   return null;
+  }
+ }
+
+ private void writeCache(Collection<ZoneRecord> zones) {
+  try {
+   ZoneCacheFile.write(cacheFile, delegate.getType(), zones);
+  } catch (IOException e) {
+   plugin.getLogger().log(Level.WARNING, "Could not write " + FILE_NAME + "; the next startup will load zones from " + delegate.getType() + " storage.", e);
+  }
+ }
+}
@@ -0,0 +1,335 @@
+package net.alexxiconify.alexxAutoWarn.storage;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+/**
+ * Stores zones in an embedded SQLite database (zones.db in the plugin folder).
+ * <p>
+ * Every change is written incrementally as one small transaction, and zones are loaded per world
+ * through an index on the world column. The connection is confined to a single worker thread,
+ * so changes are applied strictly in call order without any locking.
+ * The SQLite JDBC driver ships with the server, so no extra dependency is needed.
+ */
+public class SqliteZoneStorage implements ZoneStorage {
+
+ private static final String FILE_NAME = "zones.db";
+
+ private final AlexxAutoWarn plugin;
+ private final File databaseFile;
+ private ExecutorService executor;
+ private Connection connection; // Only touched on the executor thread
+
+ /**
+  * Constructs a new SqliteZoneStorage.
+  *
+  * @param plugin The main AlexxAutoWarn plugin instance.
+  */
+ public SqliteZoneStorage(AlexxAutoWarn plugin) {
+  this.plugin = plugin;
+  this.databaseFile = new File(plugin.getDataFolder(), FILE_NAME);
+ }
+
+ @Override
+ public void open() throws IOException {
+  executor = Executors.newSingleThreadExecutor(runnable -> {
+   Thread thread = new Thread(runnable, "AlexxAutoWarn-SQLite");
+   thread.setDaemon(true);
+   return thread;
+  });
+  call(() -> {
+   databaseFile.getParentFile().mkdirs();
+   Class.forName("org.sqlite.JDBC"); // The bundled driver is not always visible to DriverManager from a plugin class loader
+   connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+   try (Statement statement = connection.createStatement()) {
+    statement.execute("PRAGMA journal_mode=WAL");
+    statement.execute("PRAGMA foreign_keys=ON");
+    statement.execute("CREATE TABLE IF NOT EXISTS zones ("
+            + "name TEXT PRIMARY KEY, world TEXT NOT NULL, "
+            + "min_x INTEGER NOT NULL, min_y INTEGER NOT NULL, min_z INTEGER NOT NULL, "
+            + "max_x INTEGER NOT NULL, max_y INTEGER NOT NULL, max_z INTEGER NOT NULL, "
+            + "default_action TEXT NOT NULL)");
+    statement.execute("CREATE INDEX IF NOT EXISTS zones_world ON zones(world)");
+    statement.execute("CREATE TABLE IF NOT EXISTS zone_materials ("
+            + "zone TEXT NOT NULL REFERENCES zones(name) ON DELETE CASCADE, "
+            + "material TEXT NOT NULL, action TEXT NOT NULL, "
+            + "PRIMARY KEY (zone, material))");
+   }
+   return null;
+  });
+ }
+
+ @NotNull
+ @Override
+ public List<ZoneRecord> loadAll() throws IOException {
+  return call(() -> {
+   List<String> worlds = new ArrayList<>();
+   try (Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery("SELECT DISTINCT world FROM zones")) {
+    while (result.next()) {
+     worlds.add(result.getString(1));
+    }
+   }
+   List<ZoneRecord> loaded = new ArrayList<>();
+   for (String world : worlds) {
+    loaded.addAll(queryWorld(world));
+   }
+   return loaded;
+  });
+ }
+
+ @NotNull
+ @Override
+ public List<ZoneRecord> loadWorld(@NotNull String worldName) throws IOException {
+  return call(() -> queryWorld(worldName));
+ }
+
+ @Override
+ public void upsert(@NotNull ZoneRecord zone) {
+  submit(() -> inTransaction(() -> writeZone(zone)));
+ }
+
+ @Override
+ public void upsertAll(@NotNull Collection<ZoneRecord> zones) {
+  List<ZoneRecord> copy = List.copyOf(zones);
+  submit(() -> inTransaction(() -> {
+   for (ZoneRecord zone : copy) {
+    writeZone(zone);
+   }
+  }));
+ }
+
+ @Override
+ public void delete(@NotNull String zoneName) {
+  submit(() -> inTransaction(() -> {
+   try (PreparedStatement materials = connection.prepareStatement("DELETE FROM zone_materials WHERE zone = ?");
+        PreparedStatement zones = connection.prepareStatement("DELETE FROM zones WHERE name = ?")) {
+    materials.setString(1, zoneName);
+    materials.executeUpdate();
+    zones.setString(1, zoneName);
+    zones.executeUpdate();
+   }
+  }));
+ }
+
+ @Override
+ public void replaceAll(@NotNull Collection<ZoneRecord> zones) throws IOException {
+  call(() -> {
+   inTransaction(() -> {
+    try (Statement statement = connection.createStatement()) {
+     statement.executeUpdate("DELETE FROM zone_materials");
+     statement.executeUpdate("DELETE FROM zones");
+    }
+    for (ZoneRecord zone : zones) {
+     writeZone(zone);
+    }
+   });
+   return null;
+  });
+ }
+
+ @Override
+ public long getLastModified() {
+  // Committed changes may still sit in the write-ahead log
+  return Math.max(databaseFile.lastModified(), new File(databaseFile.getPath() + "-wal").lastModified());
+ }
+
+ @Override
+ public void flush() {
+  try {
+   call(() -> null); // Completes once everything queued before it has run
+  } catch (IOException e) {
+   plugin.getLogger().log(Level.WARNING, "Failed to flush the zone database.", e);
+  }
+ }
+
+ @Override
+ public void close() {
+  if (executor == null) {
+   return;
+  }
+  try {
+   call(() -> {
+    if (connection != null) {
+     connection.close();
+     connection = null;
+    }
+    return null;
+   });
+  } catch (IOException e) {
+   plugin.getLogger().log(Level.WARNING, "Failed to close the zone database.", e);
+  }
+  executor.shutdown();
+  executor = null;
+ }
+
+ @NotNull
+ @Override
+ public Type getType() {
+  return Type.SQLITE;
+ }
+
+ /**
+  * Loads the zones of one world with two indexed queries. Runs on the executor thread.
+  */
+ private List<ZoneRecord> queryWorld(String worldName) throws SQLException {
+  Map<String, Map<Material, Zone.Action>> materialsByZone = new HashMap<>();
+  try (PreparedStatement statement = connection.prepareStatement(
+          "SELECT m.zone, m.material, m.action FROM zone_materials m JOIN zones z ON z.name = m.zone WHERE z.world = ?")) {
+   statement.setString(1, worldName);
+   try (ResultSet result = statement.executeQuery()) {
+    while (result.next()) {
+     Material material = Material.getMaterial(result.getString(2));
+     Zone.Action action = parseAction(result.getString(3));
+     if (material == null || action == null) {
+      plugin.getLogger().warning("Skipping invalid material action " + result.getString(2) + "=" + result.getString(3)
+              + " for zone '" + result.getString(1) + "' in " + FILE_NAME + ".");
+      continue;
+     }
+     materialsByZone.computeIfAbsent(result.getString(1), zone -> new EnumMap<>(Material.class)).put(material, action);
+    }
+   }
+  }
+
+  List<ZoneRecord> loaded = new ArrayList<>();
+  try (PreparedStatement statement = connection.prepareStatement(
+          "SELECT name, min_x, min_y, min_z, max_x, max_y, max_z, default_action FROM zones WHERE world = ?")) {
+   statement.setString(1, worldName);
+   try (ResultSet result = statement.executeQuery()) {
+    while (result.next()) {
+     String name = result.getString(1);
+     Zone.Action defaultAction = parseAction(result.getString(8));
+     if (defaultAction == null) {
+      plugin.getLogger().warning("Invalid default action for zone '" + name + "' in " + FILE_NAME + ". Defaulting to ALERT.");
+      defaultAction = Zone.Action.ALERT;
+     }
+     loaded.add(new ZoneRecord(name, worldName,
+             result.getInt(2), result.getInt(3), result.getInt(4),
+             result.getInt(5), result.getInt(6), result.getInt(7),
+             defaultAction, materialsByZone.getOrDefault(name, Map.of())));
+    }
+   }
+  }
+  return loaded;
+ }
+
+ /**
+  * Inserts or replaces one zone and its material rules. Runs on the executor thread inside a transaction.
+  */
+ private void writeZone(ZoneRecord zone) throws SQLException {
+  try (PreparedStatement upsert = connection.prepareStatement(
+          "INSERT INTO zones (name, world, min_x, min_y, min_z, max_x, max_y, max_z, default_action) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT(name) DO UPDATE SET "
+                  + "world = excluded.world, min_x = excluded.min_x, min_y = excluded.min_y, min_z = excluded.min_z, "
+                  + "max_x = excluded.max_x, max_y = excluded.max_y, max_z = excluded.max_z, default_action = excluded.default_action");
+       PreparedStatement clearMaterials = connection.prepareStatement("DELETE FROM zone_materials WHERE zone = ?");
+       PreparedStatement insertMaterial = connection.prepareStatement("INSERT INTO zone_materials (zone, material, action) VALUES (?, ?, ?)")) {
+   upsert.setString(1, zone.name());
+   upsert.setString(2, zone.worldName());
+   upsert.setInt(3, zone.minX());
+   upsert.setInt(4, zone.minY());
+   upsert.setInt(5, zone.minZ());
+   upsert.setInt(6, zone.maxX());
+   upsert.setInt(7, zone.maxY());
+   upsert.setInt(8, zone.maxZ());
+   upsert.setString(9, zone.defaultAction().name());
+   upsert.executeUpdate();
+
+   clearMaterials.setString(1, zone.name());
+   clearMaterials.executeUpdate();
+   if (!zone.materialActions().isEmpty()) {
+    for (Map.Entry<Material, Zone.Action> entry : zone.materialActions().entrySet()) {
+     insertMaterial.setString(1, zone.name());
+     insertMaterial.setString(2, entry.getKey().name());
+     insertMaterial.setString(3, entry.getValue().name());
+     insertMaterial.addBatch();
+    }
+    insertMaterial.executeBatch();
+   }
+  }
+ }
+
+ private void inTransaction(SqlWork work) throws SQLException {
+  connection.setAutoCommit(false);
+  try {
+   work.run();
+   connection.commit();
+  } catch (SQLException | RuntimeException e) {
+   connection.rollback();
+   throw e;
+  } finally {
+   connection.setAutoCommit(true);
+  }
+ }
+
+ /**
+  * Queues work on the executor without waiting for it; failures are logged.
+  */
+ private void submit(SqlWork work) {
+  if (executor == null) {
+   plugin.getLogger().warning("Zone database is not open; change was not stored.");
+   return;
+  }
+  executor.execute(() -> {
+   try {
+    work.run();
+   } catch (SQLException | RuntimeException e) {
+    plugin.getLogger().log(Level.SEVERE, "Failed to write a zone change to " + FILE_NAME + ".", e);
+   }
+  });
+ }
+
+ /**
+  * Runs work on the executor and waits for its result.
+  */
+ private <T> T call(Callable<T> work) throws IOException {
+  if (executor == null) {
+   throw new IOException("Zone database is not open.");
+  }
+  try {
+   return executor.submit(work).get(60, TimeUnit.SECONDS);
+  } catch (InterruptedException e) {
+   Thread.currentThread().interrupt();
+   throw new IOException("Interrupted while waiting for the zone database.", e);
+  } catch (ExecutionException | TimeoutException e) {
+   throw new IOException("Zone database operation failed.", e.getCause() != null ? e.getCause() : e);
+  }
+ }
+
+ private static Zone.Action parseAction(String name) {
+  try {
+   return name == null ? null : Zone.Action.valueOf(name);
+  } catch (IllegalArgumentException e) {
+   return null;
+  }
+ }
+
+ @FunctionalInterface
+ private interface SqlWork {
+  void run() throws SQLException;
+ }
+}
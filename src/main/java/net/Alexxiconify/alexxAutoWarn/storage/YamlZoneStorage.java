@@ -0,0 +1,249 @@
+package net.alexxiconify.alexxAutoWarn.storage;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+
+/**
+ * Stores zones in the {@code zones} section of config.yml, the original storage format.
+ * <p>
+ * The storage keeps a mirror of every stored zone, including zones whose world is not loaded.
+ * Changes update the mirror and mark the config dirty; the SaveScheduler later writes the whole
+ * section from the mirror in one coalesced save.
+ */
+public class YamlZoneStorage implements ZoneStorage {
+
+ private final AlexxAutoWarn plugin;
+ private final Map<String, ZoneRecord> records = new ConcurrentHashMap<>(); // Written by the main thread, read by the save worker
+
+ /**
+  * Constructs a new YamlZoneStorage.
+  *
+  * @param plugin The main AlexxAutoWarn plugin instance.
+  */
+ public YamlZoneStorage(AlexxAutoWarn plugin) {
+  this.plugin = plugin;
+ }
+
+ @Override
+ public void open() {
+  // Nothing to open; config.yml is loaded by the plugin
+ }
+
+ /**
+  * {@inheritDoc}
+  * <p>
+  * Zone entries are parsed in parallel on the common fork/join pool. Problems are collected while
+  * parsing and logged afterwards in zone order, so the log does not interleave.
+  */
+ @NotNull
+ @Override
+ public List<ZoneRecord> loadAll() {
+  List<ZoneRecord> loaded;
+  Queue<String> errors = new ConcurrentLinkedQueue<>();
+  // Parsing reads the shared config, which the save worker may be rewriting at the same time.
+  // The worker threads only read, so holding the lock on this thread is enough.
+  synchronized (plugin.getSaveScheduler().getConfigLock()) {
+   ConfigurationSection zonesSection = plugin.getConfig().getConfigurationSection("zones");
+   if (zonesSection == null) {
+    plugin.getSettings().log(Level.INFO, "No zones section found in config.yml. Loaded 0 zones.");
+    loaded = List.of();
+   } else {
+    List<String> zoneNames = new ArrayList<>(zonesSection.getKeys(false));
+    loaded = zoneNames.parallelStream()
+            .map(zoneName -> parseZone(zoneName, zonesSection.getConfigurationSection(zoneName), errors))
+            .filter(Objects::nonNull)
+            .toList();
+   }
+  }
+  errors.stream().sorted().forEach(error -> plugin.getSettings().log(Level.WARNING, error));
+  records.clear();
+  loaded.forEach(record -> records.put(record.name(), record));
+  return loaded;
+ }
+
+ @NotNull
+ @Override
+ public List<ZoneRecord> loadWorld(@NotNull String worldName) {
+  List<ZoneRecord> loaded = new ArrayList<>();
+  for (ZoneRecord record : records.values()) {
+   if (record.worldName().equals(worldName)) {
+    loaded.add(record);
+   }
+  }
+  return loaded;
+ }
+
+ @Override
+ public void upsert(@NotNull ZoneRecord zone) {
+  records.put(zone.name(), zone);
+  plugin.getSaveScheduler().markDirty();
+ }
+
+ @Override
+ public void upsertAll(@NotNull Collection<ZoneRecord> zones) {
+  zones.forEach(record -> records.put(record.name(), record));
+  plugin.getSaveScheduler().markDirty();
+ }
+
+ @Override
+ public void delete(@NotNull String zoneName) {
+  if (records.remove(zoneName) != null) {
+   plugin.getSaveScheduler().markDirty();
+  }
+ }
+
+ @Override
+ public void replaceAll(@NotNull Collection<ZoneRecord> zones) {
+  records.clear();
+  zones.forEach(record -> records.put(record.name(), record));
+  plugin.getSaveScheduler().markDirty();
+ }
+
+ @Override
+ public void adopt(@NotNull Collection<ZoneRecord> zones) {
+  records.clear();
+  zones.forEach(record -> records.put(record.name(), record));
+ }
+
+ @Override
+ public long getLastModified() {
+  return new File(plugin.getDataFolder(), "config.yml").lastModified();
+ }
+
+ @Override
+ public void flush() {
+  plugin.getSaveScheduler().flush();
+ }
+
+ @Override
+ public void close() {
+  // Pending changes are written by the SaveScheduler, which is flushed on shutdown
+ }
+
+ @NotNull
+ @Override
+ public Type getType() {
+  return Type.YAML;
+ }
+
+ /**
+  * Replaces the zones section of the given configuration with the stored zones.
+  *
+  * @param config The configuration to write to.
+  * @return The number of zones written.
+  */
+ @Override
+ public int writeTo(@NotNull FileConfiguration config) {
+  // Clear the old "zones" section before writing to prevent stale data
+  config.set("zones", null);
+  int written = 0;
+  for (ZoneRecord zone : records.values()) {
+   String zonePath = "zones." + zone.name();
+   config.set(zonePath + ".world", zone.worldName());
+
+   // Save corners as nested x, y, z for readability in config
+   config.set(zonePath + ".corner1.x", (double) zone.minX());
+   config.set(zonePath + ".corner1.y", (double) zone.minY());
+   config.set(zonePath + ".corner1.z", (double) zone.minZ());
+   config.set(zonePath + ".corner2.x", (double) zone.maxX());
+   config.set(zonePath + ".corner2.y", (double) zone.maxY());
+   config.set(zonePath + ".corner2.z", (double) zone.maxZ());
+
+   config.set(zonePath + ".default-action", zone.defaultAction().name());
+
+   zone.materialActions().forEach((material, action) ->
+           config.set(zonePath + ".material-actions." + material.name(), action.name()));
+   written++;
+  }
+  return written;
+ }
+
+ /**
+  * Parses one zone entry. Malformed entries are reported to the error queue and skipped.
+  * Called concurrently, so it must only read the configuration.
+  */
+ @Nullable
+ private ZoneRecord parseZone(@NotNull String zoneName, @Nullable ConfigurationSection zoneConfig, @NotNull Queue<String> errors) {
+  if (zoneConfig == null) {
+   errors.add("Skipping malformed zone configuration for '" + zoneName + "'.");
+   return null;
+  }
+  try {
+   String worldName = zoneConfig.getString("world");
+   if (worldName == null) {
+    errors.add("Zone '" + zoneName + "' has no world. Skipping this zone.");
+    return null;
+   }
+
+   // Corners are stored as nested x, y, z values rather than serialized Vectors
+   ConfigurationSection corner1 = zoneConfig.getConfigurationSection("corner1");
+   ConfigurationSection corner2 = zoneConfig.getConfigurationSection("corner2");
+   if (corner1 == null || corner2 == null) {
+    errors.add("Failed to load zone '" + zoneName + "': Missing 'corner1' or 'corner2' coordinates. Please define x, y, z for both corners.");
+    return null; // Skip this zone if corners are invalid
+   }
+   int x1 = blockCoordinate(corner1, "x"), y1 = blockCoordinate(corner1, "y"), z1 = blockCoordinate(corner1, "z");
+   int x2 = blockCoordinate(corner2, "x"), y2 = blockCoordinate(corner2, "y"), z2 = blockCoordinate(corner2, "z");
+
+   // Parse default action, defaulting to ALERT if not specified or invalid
+   Zone.Action defaultAction = Zone.Action.ALERT;
+   String defaultActionString = zoneConfig.getString("default-action");
+   if (defaultActionString != null) {
+    try {
+     defaultAction = Zone.Action.valueOf(defaultActionString.toUpperCase());
+    } catch (IllegalArgumentException e) {
+     errors.add("Invalid default-action '" + defaultActionString + "' for zone '" + zoneName + "'. Defaulting to ALERT.");
+    }
+   }
+
+   // Parse material-specific actions
+   Map<Material, Zone.Action> materialActions = new EnumMap<>(Material.class);
+   ConfigurationSection actionsSection = zoneConfig.getConfigurationSection("material-actions");
+   if (actionsSection != null) {
+    for (String materialKey : actionsSection.getKeys(false)) {
+     Material material = Material.getMaterial(materialKey.toUpperCase());
+     String actionString = actionsSection.getString(materialKey);
+     if (material != null && actionString != null) {
+      try {
+       materialActions.put(material, Zone.Action.valueOf(actionString.toUpperCase()));
+      } catch (IllegalArgumentException e) {
+       errors.add("Invalid action '" + actionString + "' for material '" + materialKey + "' in zone '" + zoneName + "'. Skipping this material action.");
+      }
+     } else {
+      errors.add("Invalid material name '" + materialKey + "' or action string for material in zone '" + zoneName + "'. Skipping.");
+     }
+    }
+   }
+
+   return new ZoneRecord(zoneName.toLowerCase(), worldName,
+           Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+           Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2),
+           defaultAction, materialActions);
+  } catch (Exception e) {
+   // Log any other unexpected errors during zone loading
+   plugin.getLogger().log(Level.SEVERE, "An unexpected error occurred while loading zone '" + zoneName + "': " + e.getMessage(), e);
+   return null;
+  }
+ }
+
+ private static int blockCoordinate(ConfigurationSection section, String axis) {
+  return (int) Math.floor(section.getDouble(axis));
+ }
+}
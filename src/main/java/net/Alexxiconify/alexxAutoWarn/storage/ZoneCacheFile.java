@@ -0,0 +1,203 @@
+package net.alexxiconify.alexxAutoWarn.storage;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes zones.bin, a compact binary copy of the stored zones.
+ * <p>
+ * Layout (version 1, big-endian): magic, version, storage type; a dictionary of material names;
+ * a dictionary of world names; each distinct rule set once, as a default action plus
+ * (material index, action) pairs; then every zone as its name, world index, six int bounds
+ * and rule set index. Strings are a u16 byte length followed by UTF-8.
+ * <p>
+ * The file is read through a memory-mapped buffer. Zones with the same rules share one
+ * material map, so the ZoneManager interns each rule set once instead of once per zone.
+ */
+final class ZoneCacheFile {
+
+ private static final int MAGIC = 0x41415A43; // "AAZC"
+ private static final short VERSION = 1;
+
+ private ZoneCacheFile() {
+ }
+
+ /**
+  * Reads the cache file.
+  *
+  * @param file The cache file.
+  * @param type The storage type the cache must have been written from.
+  * @return The cached zones, or null if the file was written by another version or storage type.
+  * @throws IOException If the file cannot be read or is corrupt.
+  */
+ @Nullable
+ static List<ZoneRecord> read(@NotNull Path file, @NotNull ZoneStorage.Type type) throws IOException {
+  try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+   MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+   if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION || buffer.get() != type.ordinal()) {
+    return null;
+   }
+
+   // Names are resolved once per distinct material, not once per zone
+   Material[] materials = new Material[buffer.getInt()];
+   for (int i = 0; i < materials.length; i++) {
+    materials[i] = Material.getMaterial(readString(buffer)); // Null if the material no longer exists
+   }
+   String[] worlds = new String[buffer.getInt()];
+   for (int i = 0; i < worlds.length; i++) {
+    worlds[i] = readString(buffer).intern();
+   }
+
+   Zone.Action[] actions = Zone.Action.values();
+   int ruleSetCount = buffer.getInt();
+   Zone.Action[] defaultActions = new Zone.Action[ruleSetCount];
+   List<Map<Material, Zone.Action>> materialActions = new ArrayList<>(ruleSetCount);
+   for (int i = 0; i < ruleSetCount; i++) {
+    defaultActions[i] = actions[buffer.get()];
+    int entries = buffer.getInt();
+    Map<Material, Zone.Action> rules = new EnumMap<>(Material.class);
+    for (int j = 0; j < entries; j++) {
+     Material material = materials[buffer.getInt()];
+     Zone.Action action = actions[buffer.get()];
+     if (material != null) {
+      rules.put(material, action);
+     }
+    }
+    materialActions.add(Map.copyOf(rules)); // Immutable, so ZoneRecord keeps the shared instance
+   }
+
+   int zoneCount = buffer.getInt();
+   List<ZoneRecord> records = new ArrayList<>(zoneCount);
+   for (int i = 0; i < zoneCount; i++) {
+    String name = readString(buffer);
+    String world = worlds[buffer.getInt()];
+    int minX = buffer.getInt(), minY = buffer.getInt(), minZ = buffer.getInt();
+    int maxX = buffer.getInt(), maxY = buffer.getInt(), maxZ = buffer.getInt();
+    int ruleSet = buffer.getInt();
+    records.add(new ZoneRecord(name, world, minX, minY, minZ, maxX, maxY, maxZ,
+            defaultActions[ruleSet], materialActions.get(ruleSet)));
+   }
+   return records;
+  } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+   throw new IOException("Corrupt zone cache " + file.getFileName() + ".", e);
+  }
+ }
+
+ /**
+  * Writes the cache file through a temporary file and an atomic rename.
+  *
+  * @param file    The cache file.
+  * @param type    The storage type the zones were read from.
+  * @param records The zones to write.
+  * @throws IOException If the file cannot be written.
+  */
+ static void write(@NotNull Path file, @NotNull ZoneStorage.Type type, @NotNull Collection<ZoneRecord> records) throws IOException {
+  Map<Material, Integer> materialIds = new EnumMap<>(Material.class);
+  List<Material> materials = new ArrayList<>();
+  Map<String, Integer> worldIds = new HashMap<>();
+  List<String> worlds = new ArrayList<>();
+  Map<RuleKey, Integer> ruleSetIds = new HashMap<>();
+  List<RuleKey> ruleSets = new ArrayList<>();
+  int[] zoneWorlds = new int[records.size()];
+  int[] zoneRuleSets = new int[records.size()];
+  int index = 0;
+  for (ZoneRecord record : records) {
+   zoneWorlds[index] = worldIds.computeIfAbsent(record.worldName(), world -> {
+    worlds.add(world);
+    return worlds.size() - 1;
+   });
+   zoneRuleSets[index] = ruleSetIds.computeIfAbsent(new RuleKey(record.defaultAction(), record.materialActions()), key -> {
+    ruleSets.add(key);
+    key.materialActions().keySet().forEach(material -> materialIds.computeIfAbsent(material, m -> {
+     materials.add(m);
+     return materials.size() - 1;
+    }));
+    return ruleSets.size() - 1;
+   });
+   index++;
+  }
+
+  Files.createDirectories(file.getParent());
+  Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+  try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+   out.writeInt(MAGIC);
+   out.writeShort(VERSION);
+   out.writeByte(type.ordinal());
+   out.writeInt(materials.size());
+   for (Material material : materials) {
+    writeString(out, material.name());
+   }
+   out.writeInt(worlds.size());
+   for (String world : worlds) {
+    writeString(out, world);
+   }
+   out.writeInt(ruleSets.size());
+   for (RuleKey ruleSet : ruleSets) {
+    out.writeByte(ruleSet.defaultAction().ordinal());
+    out.writeInt(ruleSet.materialActions().size());
+    for (Map.Entry<Material, Zone.Action> entry : ruleSet.materialActions().entrySet()) {
+     out.writeInt(materialIds.get(entry.getKey()));
+     out.writeByte(entry.getValue().ordinal());
+    }
+   }
+   out.writeInt(records.size());
+   index = 0;
+   for (ZoneRecord record : records) {
+    writeString(out, record.name());
+    out.writeInt(zoneWorlds[index]);
+    out.writeInt(record.minX());
+    out.writeInt(record.minY());
+    out.writeInt(record.minZ());
+    out.writeInt(record.maxX());
+    out.writeInt(record.maxY());
+    out.writeInt(record.maxZ());
+    out.writeInt(zoneRuleSets[index]);
+    index++;
+   }
+  }
+  try {
+   Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  } catch (AtomicMoveNotSupportedException e) {
+   Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+ }
+
+ private static String readString(MappedByteBuffer buffer) {
+  byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+  buffer.get(bytes);
+  return new String(bytes, StandardCharsets.UTF_8);
+ }
+
+ private static void writeString(DataOutputStream out, String value) throws IOException {
+  byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+  out.writeShort(bytes.length);
+  out.write(bytes);
+ }
+
+ /**
+  * Identifies a distinct rule set while writing.
+  */
+ private record RuleKey(Zone.Action defaultAction, Map<Material, Zone.Action> materialActions) {
+ }
+}
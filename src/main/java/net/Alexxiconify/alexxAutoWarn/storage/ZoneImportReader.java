@@ -0,0 +1,296 @@
+package net.alexxiconify.alexxAutoWarn.storage;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Streams zone definitions from a CSV or JSON file into records, one entry at a time, so even large
+ * files are never held in memory as a whole. The format follows the file extension.
+ * <p>
+ * A CSV file has one zone per line: {@code name,world,x1,y1,z1,x2,y2,z2[,default-action[,material-actions]]},
+ * where material actions are written as {@code TNT=DENY;LAVA_BUCKET=ALERT}. A header line starting with
+ * {@code name,} and lines starting with {@code #} are skipped. A JSON file holds an array of objects laid out
+ * like the zones section of config.yml, with the zone name under {@code name}.
+ * <p>
+ * Malformed entries are skipped and reported; a file that cannot be read or is not valid JSON fails as a whole.
+ * Reading only touches the file, so it is safe off the main thread.
+ */
+public final class ZoneImportReader {
+
+ /**
+  * The supported file formats.
+  */
+ public enum Format {
+  CSV, JSON;
+
+  /**
+   * @return The format matching the file extension, or null if it is not supported.
+   */
+  @Nullable
+  public static Format of(@NotNull Path file) {
+   String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+   if (name.endsWith(".csv")) {
+    return CSV;
+   }
+   return name.endsWith(".json") ? JSON : null;
+  }
+ }
+
+ /**
+  * Entries read between two progress reports.
+  */
+ public static final int PROGRESS_INTERVAL = 1_000;
+ private static final int MAX_ERRORS = 20; // Only the first problems are kept; a broken file would otherwise flood the log
+
+ private final Predicate<String> validName;
+ private final IntConsumer progress;
+ private final List<ZoneRecord> records = new ArrayList<>();
+ private final List<String> errors = new ArrayList<>();
+ private int entries;
+ private int skipped;
+
+ /**
+  * @param validName Accepts the zone names that may be imported.
+  * @param progress  Receives the number of entries read so far, every {@link #PROGRESS_INTERVAL} entries.
+  */
+ public ZoneImportReader(@NotNull Predicate<String> validName, @NotNull IntConsumer progress) {
+  this.validName = validName;
+  this.progress = progress;
+ }
+
+ /**
+  * Reads all zone definitions from a file. A reader is used for one file only.
+  *
+  * @param file The file to read.
+  * @return The zones read, and the entries that were skipped.
+  * @throws IOException If the file cannot be read, has an unsupported extension or is not a valid JSON array.
+  */
+ @NotNull
+ public Result read(@NotNull Path file) throws IOException {
+  Format format = Format.of(file);
+  if (format == null) {
+   throw new IOException("Unsupported file type: " + file.getFileName() + ". Use a .csv or .json file.");
+  }
+  try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+   if (format == Format.CSV) {
+    readCsv(reader);
+   } else {
+    readJson(new JsonReader(reader));
+   }
+  } catch (IllegalStateException e) {
+   throw new IOException("Not a list of zones: " + e.getMessage(), e); // Thrown by JsonReader for unexpected structure
+  }
+  return new Result(List.copyOf(records), List.copyOf(errors), skipped);
+ }
+
+ private void readCsv(BufferedReader reader) throws IOException {
+  String line;
+  int lineNumber = 0;
+  while ((line = reader.readLine()) != null) {
+   lineNumber++;
+   line = line.strip();
+   if (line.isEmpty() || line.startsWith("#") || (lineNumber == 1 && line.toLowerCase(Locale.ROOT).startsWith("name,"))) {
+    continue;
+   }
+   String[] columns = line.split(",", -1);
+   String where = "line " + lineNumber;
+   if (columns.length < 8 || columns.length > 10) {
+    skip(where, "expected 8 to 10 columns but found " + columns.length);
+    continue;
+   }
+   Map<String, String> materialActions = new LinkedHashMap<>();
+   if (columns.length == 10 && !columns[9].isBlank()) {
+    for (String entry : columns[9].split(";")) {
+     String[] pair = entry.split("=", 2);
+     materialActions.put(pair[0], pair.length == 2 ? pair[1] : "");
+    }
+   }
+   add(where, columns[0], columns[1], Arrays.copyOfRange(columns, 2, 8),
+           columns.length >= 9 && !columns[8].isBlank() ? columns[8] : null, materialActions);
+  }
+ }
+
+ private void readJson(JsonReader reader) throws IOException {
+  reader.beginArray();
+  while (reader.hasNext()) {
+   String name = null;
+   String world = null;
+   String[] coordinates = new String[6];
+   String defaultAction = null;
+   Map<String, String> materialActions = new LinkedHashMap<>();
+   // Values are read as text and checked afterwards, so a bad value never leaves the reader mid-entry
+   reader.beginObject();
+   while (reader.hasNext()) {
+    switch (reader.nextName()) {
+     case "name" -> name = text(reader);
+     case "world" -> world = text(reader);
+     case "corner1" -> readCorner(reader, coordinates, 0);
+     case "corner2" -> readCorner(reader, coordinates, 3);
+     case "default-action" -> defaultAction = text(reader);
+     case "material-actions" -> {
+      if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+       reader.beginObject();
+       while (reader.hasNext()) {
+        String material = reader.nextName();
+        materialActions.put(material, Objects.requireNonNullElse(text(reader), ""));
+       }
+       reader.endObject();
+      } else {
+       reader.skipValue();
+       materialActions.put("", ""); // Reported as an unknown material
+      }
+     }
+     default -> reader.skipValue(); // Unknown keys are ignored, so exports may carry extra data
+    }
+   }
+   reader.endObject();
+   add("entry " + (entries + 1), name, world, coordinates, defaultAction, materialActions);
+  }
+  reader.endArray();
+ }
+
+ /**
+  * Reads the x, y and z of a corner into the given slots. Missing or non-numeric values are left null.
+  */
+ private static void readCorner(JsonReader reader, String[] coordinates, int offset) throws IOException {
+  if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+   reader.skipValue();
+   return;
+  }
+  reader.beginObject();
+  while (reader.hasNext()) {
+   int axis = switch (reader.nextName()) {
+    case "x" -> 0;
+    case "y" -> 1;
+    case "z" -> 2;
+    default -> -1;
+   };
+   String value = text(reader);
+   if (axis >= 0) {
+    coordinates[offset + axis] = value;
+   }
+  }
+  reader.endObject();
+ }
+
+ /**
+  * Reads a string or number as text, skipping any other value.
+  */
+ @Nullable
+ private static String text(JsonReader reader) throws IOException {
+  JsonToken token = reader.peek();
+  if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+   return reader.nextString();
+  }
+  reader.skipValue();
+  return null;
+ }
+
+ /**
+  * Checks the raw values of one entry and adds its record, ordering the corners so the first is the minimum.
+  * Problems skip the entry.
+  */
+ private void add(String where, @Nullable String name, @Nullable String world, String[] coordinates,
+                  @Nullable String defaultAction, Map<String, String> materialActions) {
+  String zoneName = name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+  String worldName = world == null ? "" : world.strip();
+  if (!validName.test(zoneName)) {
+   skip(where, "invalid zone name '" + zoneName + "'");
+   return;
+  }
+  if (worldName.isEmpty()) {
+   skip(where, "zone '" + zoneName + "' has no world");
+   return;
+  }
+  try {
+   int[] corners = new int[6];
+   for (int i = 0; i < corners.length; i++) {
+    corners[i] = coordinate(coordinates[i]);
+   }
+   Map<Material, Zone.Action> actions = new EnumMap<>(Material.class);
+   materialActions.forEach((material, action) -> actions.put(material(material), action(action)));
+   records.add(new ZoneRecord(zoneName, worldName,
+           Math.min(corners[0], corners[3]), Math.min(corners[1], corners[4]), Math.min(corners[2], corners[5]),
+           Math.max(corners[0], corners[3]), Math.max(corners[1], corners[4]), Math.max(corners[2], corners[5]),
+           defaultAction == null ? Zone.Action.ALERT : action(defaultAction), actions));
+   counted();
+  } catch (IllegalArgumentException e) {
+   skip(where, "zone '" + zoneName + "': " + e.getMessage());
+  }
+ }
+
+ private void skip(String where, String problem) {
+  skipped++;
+  if (errors.size() < MAX_ERRORS) {
+   errors.add(where + ": " + problem);
+  }
+  counted();
+ }
+
+ private void counted() {
+  if (++entries % PROGRESS_INTERVAL == 0) {
+   progress.accept(entries);
+  }
+ }
+
+ private static int coordinate(@Nullable String value) {
+  if (value == null) {
+   throw new IllegalArgumentException("both corners need numeric x, y and z");
+  }
+  try {
+   return blockCoordinate(Double.parseDouble(value.strip()));
+  } catch (NumberFormatException e) {
+   throw new IllegalArgumentException("'" + value.strip() + "' is not a coordinate");
+  }
+ }
+
+ private static int blockCoordinate(double value) {
+  return (int) Math.floor(value); // Saturates, so out-of-range values are still rejected by validation
+ }
+
+ private static Material material(String name) {
+  Material material = Material.getMaterial(name.strip().toUpperCase(Locale.ROOT));
+  if (material == null) {
+   throw new IllegalArgumentException("unknown material '" + name.strip() + "'");
+  }
+  return material;
+ }
+
+ private static Zone.Action action(String name) {
+  try {
+   return Zone.Action.valueOf(name.strip().toUpperCase(Locale.ROOT));
+  } catch (IllegalArgumentException e) {
+   throw new IllegalArgumentException("unknown action '" + name.strip() + "'");
+  }
+ }
+
+ /**
+  * The outcome of reading a file.
+  *
+  * @param records The zones read, in file order. Names may repeat; the first definition wins on import.
+  * @param errors  The first problems found, with their line or entry number.
+  * @param skipped The number of entries that were skipped.
+  */
+ public record Result(List<ZoneRecord> records, List<String> errors, int skipped) {
+ }
+}
@@ -0,0 +1,44 @@
+package net.alexxiconify.alexxAutoWarn.storage;
+
+import net.alexxiconify.alexxAutoWarn.objects.Zone;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * The persisted form of a zone. Unlike {@link Zone} it refers to its world by name only,
+ * so it can be read and written without the world being loaded.
+ *
+ * @param name            The lowercase zone name.
+ * @param worldName       The name of the zone's world.
+ * @param minX            The minimum block X coordinate.
+ * @param minY            The minimum block Y coordinate.
+ * @param minZ            The minimum block Z coordinate.
+ * @param maxX            The maximum block X coordinate.
+ * @param maxY            The maximum block Y coordinate.
+ * @param maxZ            The maximum block Z coordinate.
+ * @param defaultAction   The action for materials without a specific rule.
+ * @param materialActions The material-specific actions. Never modified after construction.
+ */
+public record ZoneRecord(@NotNull String name, @NotNull String worldName,
+                         int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                         @NotNull Zone.Action defaultAction, @NotNull Map<Material, Zone.Action> materialActions) {
+
+ public ZoneRecord {
+  materialActions = Map.copyOf(materialActions); // No copy when the map is already immutable, so records can share one
+ }
+
+ /**
+  * Captures the persisted form of a loaded zone.
+  *
+  * @param zone The zone.
+  * @return The record.
+  */
+ @NotNull
+ public static ZoneRecord of(@NotNull Zone zone) {
+  return new ZoneRecord(zone.getName(), zone.getWorldName(),
+          zone.getMinX(), zone.getMinY(), zone.getMinZ(), zone.getMaxX(), zone.getMaxY(), zone.getMaxZ(),
+          zone.getDefaultAction(), zone.getMaterialActions());
+ }
+}
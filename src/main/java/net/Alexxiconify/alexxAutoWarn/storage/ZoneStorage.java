@@ -0,0 +1,147 @@
+package net.alexxiconify.alexxAutoWarn.storage;
+
+import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Persists zones beneath the ZoneManager. The ZoneManager keeps the authoritative in-memory state
+ * and tells the storage about every change; implementations decide how (and how incrementally) to persist it.
+ * <p>
+ * {@link #upsert}, {@link #upsertAll} and {@link #delete} may be called from the main thread and must not block on I/O;
+ * implementations may apply them later, but always in call order. Every other method may block
+ * and is called off the main thread.
+ */
+public interface ZoneStorage {
+
+ /**
+  * Opens the storage, creating it if it does not exist yet.
+  *
+  * @throws IOException If the storage cannot be opened.
+  */
+ void open() throws IOException;
+
+ /**
+  * Reads every stored zone.
+  *
+  * @return The stored zones.
+  * @throws IOException If the storage cannot be read.
+  */
+ @NotNull
+ List<ZoneRecord> loadAll() throws IOException;
+
+ /**
+  * Reads the stored zones of a single world.
+  *
+  * @param worldName The world name.
+  * @return The stored zones of that world.
+  * @throws IOException If the storage cannot be read.
+  */
+ @NotNull
+ List<ZoneRecord> loadWorld(@NotNull String worldName) throws IOException;
+
+ /**
+  * Stores a zone, replacing any stored zone with the same name.
+  *
+  * @param zone The zone to store.
+  */
+ void upsert(@NotNull ZoneRecord zone);
+
+ /**
+  * Stores many zones as one write, replacing any stored zones with the same names. Used by bulk imports.
+  *
+  * @param zones The zones to store.
+  */
+ default void upsertAll(@NotNull Collection<ZoneRecord> zones) {
+  zones.forEach(this::upsert);
+ }
+
+ /**
+  * Deletes a stored zone.
+  *
+  * @param zoneName The lowercase zone name.
+  */
+ void delete(@NotNull String zoneName);
+
+ /**
+  * Replaces every stored zone in one step. Used by migrations and bulk imports.
+  *
+  * @param zones The new contents.
+  * @throws IOException If the storage cannot be written.
+  */
+ void replaceAll(@NotNull Collection<ZoneRecord> zones) throws IOException;
+
+ /**
+  * Takes over zones that were read from the binary cache instead of {@link #loadAll()},
+  * so the storage knows its contents without reading them. Nothing is written.
+  *
+  * @param zones The stored zones, as last written to the cache.
+  */
+ default void adopt(@NotNull Collection<ZoneRecord> zones) {
+  // Storages that do not keep their contents in memory have nothing to take over
+ }
+
+ /**
+  * Gets the time the stored data was last modified, used to decide whether the binary cache is still current.
+  *
+  * @return The modification time in epoch milliseconds, or 0 if the storage does not exist yet.
+  */
+ long getLastModified();
+
+ /**
+  * Writes the stored zones into config.yml, for storages that live there.
+  * Called by the SaveScheduler on its worker thread while holding the config lock.
+  *
+  * @param config The configuration to write to.
+  * @return The number of zones written, or -1 if zones are stored elsewhere.
+  */
+ default int writeTo(@NotNull FileConfiguration config) {
+  return -1;
+ }
+
+ /**
+  * Waits until every queued change has been written.
+  */
+ void flush();
+
+ /**
+  * Writes every queued change and releases the storage.
+  */
+ void close();
+
+ /**
+  * @return The backend type of this storage.
+  */
+ @NotNull
+ Type getType();
+
+ /**
+  * The available storage backends, selected with {@code settings.storage}.
+  */
+ enum Type {
+  YAML(YamlZoneStorage::new),
+  SQLITE(SqliteZoneStorage::new);
+
+  private final Function<AlexxAutoWarn, ZoneStorage> factory;
+
+  Type(Function<AlexxAutoWarn, ZoneStorage> factory) {
+   this.factory = factory;
+  }
+
+  /**
+   * Creates an unopened storage of this type.
+   *
+   * @param plugin The main AlexxAutoWarn plugin instance.
+   * @return The new storage.
+   */
+  @NotNull
+  public ZoneStorage create(@NotNull AlexxAutoWarn plugin) {
+   return factory.apply(plugin);
+  }
+ }
+}
@@ -0,0 +1,60 @@
+package net.alexxiconify.alexxAutoWarn.utils;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.Container;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Classifies block materials as containers once, so container checks on the event hot path
+ * are a set lookup instead of a {@link Block#getState()} snapshot.
+ * <p>
+ * Each block material is classified from a default, unplaced block state. Materials that cannot be
+ * classified that way are checked against the placed block's state, without taking a snapshot.
+ */
+public final class ContainerMaterials {
+
+ private final Set<Material> containers = EnumSet.noneOf(Material.class);
+ private final Set<Material> unclassified = EnumSet.noneOf(Material.class);
+
+ /**
+  * Classifies every block material.
+  *
+  * @param logger The plugin logger, used to report materials that could not be classified.
+  */
+ public ContainerMaterials(@NotNull Logger logger) {
+  for (Material material : Material.values()) {
+   try {
+    if (!material.isBlock() || material.isLegacy() || material.isAir()) {
+     continue;
+    }
+    if (material.createBlockData().createBlockState() instanceof Container) {
+     containers.add(material);
+    }
+   } catch (RuntimeException e) {
+    unclassified.add(material);
+   }
+  }
+  if (!unclassified.isEmpty()) {
+   logger.fine("Could not classify " + unclassified.size() + " block materials up front; they are checked when clicked.");
+  }
+ }
+
+ /**
+  * Checks whether a block is a container (chest, barrel, furnace, hopper, shulker box and so on).
+  *
+  * @param block The block to check.
+  * @return true if the block holds an inventory.
+  */
+ public boolean isContainer(@NotNull Block block) {
+  Material type = block.getType();
+  if (containers.contains(type)) {
+   return true;
+  }
+  return unclassified.contains(type) && block.getState(false) instanceof Container; // Live state, no snapshot copy
+ }
+}
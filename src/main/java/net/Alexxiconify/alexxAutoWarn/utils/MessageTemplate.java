@@ -0,0 +1,235 @@
+package net.alexxiconify.alexxAutoWarn.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A MiniMessage string parsed once into a component tree, with the plugin prefix already prepended.
+ * <p>
+ * Every non-standard tag such as {@code <player>} is parsed into a marker text node. Rendering copies only
+ * the path down to those markers and swaps in the placeholder values, instead of re-parsing the whole string.
+ * Values are inserted as plain text, just like {@link Placeholder#unparsed(String, String)}.
+ * <p>
+ * Some tags do not keep the markers as whole text nodes: {@code <gradient>}, {@code <rainbow>} and
+ * {@code <transition>} split their text per character, and hover, click, insertion or translation arguments
+ * live outside the text tree. Templates where any marker did not survive intact are parsed again on every render.
+ */
+public final class MessageTemplate {
+
+ private static final char MARKER_START = '\uE000'; // Private-use characters never appear in config text
+ private static final char MARKER_END = '\uE001';
+
+ // Compaction would merge markers into neighbouring text, so the tree is kept exactly as parsed
+ private static final MiniMessage COMPILER = MiniMessage.builder().postProcessor(UnaryOperator.identity()).build();
+ private static final TagResolver STANDARD_TAGS = StandardTags.defaults();
+
+ private final String raw;
+ private final Component prefix;
+ private final Component compiled;
+ private final boolean hasPlaceholders;
+ // Set when a marker did not survive parsing as one text node, or sits in a hover or click argument
+ private final boolean requiresReparse;
+
+ private MessageTemplate(String raw, Component prefix, Component compiled, boolean hasPlaceholders, boolean requiresReparse) {
+  this.raw = raw;
+  this.prefix = prefix;
+  this.compiled = compiled;
+  this.hasPlaceholders = hasPlaceholders;
+  this.requiresReparse = requiresReparse;
+ }
+
+ /**
+  * Parses a MiniMessage string into a template.
+  *
+  * @param raw    The MiniMessage string.
+  * @param prefix The component to prepend to every rendered message.
+  * @return The compiled template.
+  */
+ @NotNull
+ public static MessageTemplate compile(@NotNull String raw, @NotNull Component prefix) {
+  MarkerResolver markers = new MarkerResolver();
+  Component parsed = COMPILER.deserialize(raw, markers);
+  boolean requiresReparse = markers.count > 0 && (countIntactMarkers(parsed) < markers.count
+          || raw.contains("<hover") || raw.contains("<click") || raw.contains("<insert"));
+  return new MessageTemplate(raw, prefix, prefix.append(parsed), markers.count > 0, requiresReparse);
+ }
+
+ /**
+  * @return The MiniMessage string this template was compiled from.
+  */
+ @NotNull
+ public String getRaw() {
+  return raw;
+ }
+
+ /**
+  * Renders the template without placeholder values; placeholder tags are left as written.
+  *
+  * @return The rendered component, including the prefix.
+  */
+ @NotNull
+ public Component render() {
+  return hasPlaceholders ? substitute(compiled, new String[0]) : compiled;
+ }
+
+ /**
+  * Renders the template with plain-text placeholder values.
+  *
+  * @param placeholders Alternating placeholder names and values, e.g. {@code "player", "Steve", "zone", "spawn"}.
+  * @return The rendered component, including the prefix.
+  */
+ @NotNull
+ public Component render(@NotNull String... placeholders) {
+  if (!hasPlaceholders) {
+   return compiled; // Components are immutable, so the compiled tree can be handed out as is
+  }
+  if (requiresReparse) {
+   TagResolver[] resolvers = new TagResolver[placeholders.length / 2];
+   for (int i = 0; i < resolvers.length; i++) {
+    resolvers[i] = Placeholder.unparsed(placeholders[i * 2], placeholders[i * 2 + 1]);
+   }
+   return render(resolvers);
+  }
+  return substitute(compiled, placeholders);
+ }
+
+ /**
+  * Renders the template with arbitrary tag resolvers. These cannot be applied to the compiled tree,
+  * so the cached string is parsed again; use {@link #render(String...)} on hot paths.
+  *
+  * @param resolvers The tag resolvers.
+  * @return The rendered component, including the prefix.
+  */
+ @NotNull
+ public Component render(@NotNull TagResolver... resolvers) {
+  if (resolvers.length == 0 && !hasPlaceholders) {
+   return compiled;
+  }
+  return prefix.append(MiniMessage.miniMessage().deserialize(raw, resolvers));
+ }
+
+ private static Component substitute(Component component, String[] placeholders) {
+  Component result = component;
+  if (component instanceof TextComponent text && text.content().indexOf(MARKER_START) >= 0) {
+   result = text.content(fill(text.content(), placeholders));
+  }
+  List<Component> children = component.children();
+  List<Component> substituted = null; // Only allocated once a child actually changes
+  for (int i = 0; i < children.size(); i++) {
+   Component child = children.get(i);
+   Component replacement = substitute(child, placeholders);
+   if (substituted == null && replacement != child) {
+    substituted = new ArrayList<>(children.size());
+    substituted.addAll(children.subList(0, i));
+   }
+   if (substituted != null) {
+    substituted.add(replacement);
+   }
+  }
+  return substituted == null ? result : result.children(substituted);
+ }
+
+ private static String fill(String content, String[] placeholders) {
+  StringBuilder builder = new StringBuilder(content.length() + 16);
+  int position = 0;
+  int start;
+  while ((start = content.indexOf(MARKER_START, position)) >= 0) {
+   int end = content.indexOf(MARKER_END, start);
+   if (end < 0) {
+    break;
+   }
+   builder.append(content, position, start);
+   String tag = content.substring(start + 1, end);
+   int arguments = tag.indexOf(':');
+   String value = lookup(arguments < 0 ? tag : tag.substring(0, arguments), placeholders);
+   if (value != null) {
+    builder.append(value);
+   } else {
+    builder.append('<').append(tag).append('>'); // Unresolved tags stay visible with their arguments, as MiniMessage leaves them
+   }
+   position = end + 1;
+  }
+  return builder.append(content, position, content.length()).toString();
+ }
+
+ /**
+  * Counts the markers that are still whole within a single text node of the parsed tree.
+  */
+ private static int countIntactMarkers(Component component) {
+  int count = 0;
+  if (component instanceof TextComponent text) {
+   String content = text.content();
+   int start = content.indexOf(MARKER_START);
+   while (start >= 0) {
+    int end = content.indexOf(MARKER_END, start);
+    int next = content.indexOf(MARKER_START, start + 1);
+    if (end < 0) {
+     break;
+    }
+    if (next < 0 || end < next) {
+     count++;
+    }
+    start = next;
+   }
+  }
+  for (Component child : component.children()) {
+   count += countIntactMarkers(child);
+  }
+  return count;
+ }
+
+ @Nullable
+ private static String lookup(String name, String[] placeholders) {
+  for (int i = 0; i + 1 < placeholders.length; i += 2) {
+   if (placeholders[i].equals(name)) {
+    return placeholders[i + 1];
+   }
+  }
+  return null;
+ }
+
+ /**
+  * Claims every tag that is not a standard MiniMessage tag and turns it into a marker text node.
+  */
+ private static final class MarkerResolver implements TagResolver {
+  private int count;
+
+  @Override
+  public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+   if (!has(name)) {
+    return null;
+   }
+   count++;
+   // Arguments are kept in the marker, so an unresolved tag is shown as written
+   StringBuilder marker = new StringBuilder().append(MARKER_START).append(name);
+   while (arguments.hasNext()) {
+    String argument = arguments.pop().value();
+    marker.append(':');
+    if (argument.indexOf(':') >= 0 || argument.indexOf('>') >= 0) {
+     marker.append('\'').append(argument.replace("'", "\\'")).append('\'');
+    } else {
+     marker.append(argument);
+    }
+   }
+   return Tag.selfClosingInserting(Component.text(marker.append(MARKER_END).toString()));
+  }
+
+  @Override
+  public boolean has(@NotNull String name) {
+   return !STANDARD_TAGS.has(name);
+  }
+ }
+}
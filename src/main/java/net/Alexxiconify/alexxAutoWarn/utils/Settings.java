@@ -1,16 +1,22 @@
 package net.alexxiconify.alexxAutoWarn.utils; // Consistent casing
 
 import net.alexxiconify.alexxAutoWarn.AlexxAutoWarn;
+import net.alexxiconify.alexxAutoWarn.index.ZoneIndex;
+import net.alexxiconify.alexxAutoWarn.objects.ActionTable;
+import net.alexxiconify.alexxAutoWarn.storage.ZoneStorage;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -29,6 +35,26 @@ public class Settings {
  private boolean debugLogAllowedActions;
  private Component pluginPrefix;
  private Set<Material> globallyBannedMaterials;
+ private Set<Material> globallyBannedView; // Cached unmodifiable view, so the getter never allocates
+ private volatile ActionTable globalActionTable = ActionTable.compileGlobal(Set.of()); // Used outside of any zone
+ private ZoneIndex.Type zoneIndexType = ZoneIndex.Type.CHUNK;
+ private volatile ZoneStorage.Type storageType = ZoneStorage.Type.YAML; // Also changed by a migration, off the main thread
+ private boolean zoneCacheEnabled;
+ private int permissionRefreshSeconds;
+ private long alertWindowMillis;
+ private int alertMaxWindows;
+ private int coreProtectQueueCapacity;
+ private int coreProtectBatchSize;
+ private boolean auditLogEnabled;
+ private int auditLogBufferSize;
+ private long auditLogMaxFileBytes;
+ private int auditLogMaxFiles;
+ private int auditLogSummarySeconds;
+ private int auditLogSampleEvery;
+ private long saveQuietPeriodMillis;
+ private boolean metricsEnabled;
+ private int metricsDumpSeconds;
+ private volatile Map<String, MessageTemplate> messageTemplates = Map.of(); // Parsed once per reload, keyed without the "messages." prefix
 
  public Settings(AlexxAutoWarn plugin) {
   this.plugin = plugin;
@@ -50,7 +76,37 @@ public class Settings {
   // Load general settings
   this.monitorChestAccess = config.getBoolean("settings.monitor-chest-access", false);
   this.debugLogAllowedActions = config.getBoolean("settings.debug-log-allowed-actions", false);
+  this.permissionRefreshSeconds = Math.max(0, config.getInt("settings.permission-refresh-seconds", 30));
+  this.alertWindowMillis = Math.max(0L, Math.round(config.getDouble("settings.alert-aggregation.window-seconds", 2.0) * 1000));
+  this.alertMaxWindows = Math.max(1, config.getInt("settings.alert-aggregation.max-windows", 1024));
+  this.coreProtectQueueCapacity = Math.max(1, config.getInt("settings.coreprotect-queue.capacity", 8192));
+  this.coreProtectBatchSize = Math.max(1, config.getInt("settings.coreprotect-queue.batch-size", 256));
+  this.saveQuietPeriodMillis = Math.max(0L, config.getLong("settings.save-quiet-period-millis", 1000L));
+  this.metricsEnabled = config.getBoolean("settings.metrics.enabled", true);
+  this.metricsDumpSeconds = Math.max(0, config.getInt("settings.metrics.dump-interval-seconds", 300));
+  this.auditLogEnabled = config.getBoolean("audit-log.enabled", true);
+  this.auditLogBufferSize = Math.max(64, config.getInt("audit-log.buffer-size", 8192));
+  this.auditLogMaxFileBytes = Math.max(1L, config.getLong("audit-log.max-file-size-mb", 10L)) * 1024L * 1024L;
+  this.auditLogMaxFiles = Math.max(1, config.getInt("audit-log.max-files", 5));
+  this.auditLogSummarySeconds = Math.max(0, config.getInt("audit-log.console-summary-seconds", 300));
+  this.auditLogSampleEvery = Math.max(0, config.getInt("audit-log.console-sample-every", 0));
+  String indexTypeName = config.getString("settings.zone-index", "CHUNK");
+  try {
+   this.zoneIndexType = ZoneIndex.Type.valueOf(indexTypeName.trim().toUpperCase());
+  } catch (IllegalArgumentException e) {
+   plugin.getLogger().warning("Invalid zone-index '" + indexTypeName + "' found in config.yml. Defaulting to CHUNK.");
+   this.zoneIndexType = ZoneIndex.Type.CHUNK;
+  }
+  this.zoneCacheEnabled = config.getBoolean("settings.zone-cache", true);
+  String storageTypeName = config.getString("settings.storage", "YAML");
+  try {
+   this.storageType = ZoneStorage.Type.valueOf(storageTypeName.trim().toUpperCase());
+  } catch (IllegalArgumentException e) {
+   plugin.getLogger().warning("Invalid storage '" + storageTypeName + "' found in config.yml. Defaulting to YAML.");
+   this.storageType = ZoneStorage.Type.YAML;
+  }
   this.pluginPrefix = miniMessage.deserialize(config.getString("messages.plugin-prefix", "<gray>[<gold>AutoWarn</gold>]</gray> "));
+  compileMessageTemplates(config);
 
   // Load globally banned materials
   // Ensure a fresh set is created to avoid old materials persisting after reload
@@ -66,9 +122,61 @@ public class Settings {
     plugin.getLogger().warning("Invalid globally banned material '" + materialName + "' found in config.yml. Skipping.");
    }
   }
+  onGloballyBannedMaterialsChanged();
   plugin.getLogger().log(Level.INFO, "Reloaded {0} globally banned materials.", globallyBannedMaterials.size());
  }
 
+ /**
+  * Parses every message in the configuration into a template, with the prefix already prepended.
+  */
+ private void compileMessageTemplates(FileConfiguration config) {
+  Map<String, MessageTemplate> templates = new HashMap<>();
+  ConfigurationSection messages = config.getConfigurationSection("messages");
+  if (messages != null) {
+   for (String key : messages.getKeys(true)) {
+    if (messages.isString(key)) {
+     templates.put(key, MessageTemplate.compile(messages.getString(key, ""), pluginPrefix));
+    }
+   }
+  }
+  this.messageTemplates = Map.copyOf(templates);
+ }
+
+ /**
+  * Gets the template for a message key, falling back to a "not found" message.
+  */
+ @NotNull
+ private MessageTemplate getTemplate(@NotNull String key) {
+  MessageTemplate template = messageTemplates.get(key);
+  if (template == null) {
+   // Fallback message ensures something is always returned, even if key is missing
+   template = MessageTemplate.compile("<red>Message not found: " + key + "</red>", pluginPrefix);
+  }
+  return template;
+ }
+
+ /**
+  * Retrieves a message from the configuration.
+  *
+  * @param key The message key in config.yml (e.g., "error.no-permission").
+  * @return A formatted Component, ready to be sent to a player.
+  */
+ public Component getMessage(@NotNull String key) {
+  return getTemplate(key).render();
+ }
+
+ /**
+  * Retrieves a message from the configuration and fills in plain-text placeholders
+  * directly on the precompiled template. Prefer this over the TagResolver variant on hot paths.
+  *
+  * @param key          The message key in config.yml (e.g., "action.denied").
+  * @param placeholders Alternating placeholder names and values (e.g., "player", player.getName()).
+  * @return A formatted Component, ready to be sent to a player.
+  */
+ public Component getMessage(@NotNull String key, String... placeholders) {
+  return getTemplate(key).render(placeholders);
+ }
+
  /**
   * Retrieves a message from the configuration and formats it with placeholders.
   *
@@ -77,10 +185,7 @@ public class Settings {
   * @return A formatted Component, ready to be sent to a player.
   */
  public Component getMessage(@NotNull String key, TagResolver... resolvers) {
-  // Fallback message ensures something is always returned, even if key is missing
-  String rawMessage = plugin.getConfig().getString("messages." + key, "<red>Message not found: " + key + "</red>");
-  Component message = miniMessage.deserialize(rawMessage, resolvers);
-  return pluginPrefix.append(message);
+  return getTemplate(key).render(resolvers);
  }
 
  /**
@@ -105,10 +210,100 @@ public class Settings {
   return debugLogAllowedActions;
  }
 
+ @NotNull
+ public ZoneIndex.Type getZoneIndexType() {
+  return zoneIndexType;
+ }
+
+ @NotNull
+ public ZoneStorage.Type getStorageType() {
+  return storageType;
+ }
+
+ /**
+  * Switches the configured storage type without a reload. Used by a migration, which writes the
+  * new type to config.yml itself.
+  *
+  * @param storageType The storage type zones are now kept in.
+  */
+ public void setStorageType(@NotNull ZoneStorage.Type storageType) {
+  this.storageType = storageType;
+ }
+
+ public boolean isZoneCacheEnabled() {
+  return zoneCacheEnabled;
+ }
+
+ public int getPermissionRefreshSeconds() {
+  return permissionRefreshSeconds;
+ }
+
+ public long getAlertWindowMillis() {
+  return alertWindowMillis;
+ }
+
+ public int getAlertMaxWindows() {
+  return alertMaxWindows;
+ }
+
+ public int getCoreProtectQueueCapacity() {
+  return coreProtectQueueCapacity;
+ }
+
+ public int getCoreProtectBatchSize() {
+  return coreProtectBatchSize;
+ }
+
+ public boolean isAuditLogEnabled() {
+  return auditLogEnabled;
+ }
+
+ public int getAuditLogBufferSize() {
+  return auditLogBufferSize;
+ }
+
+ public long getAuditLogMaxFileBytes() {
+  return auditLogMaxFileBytes;
+ }
+
+ public int getAuditLogMaxFiles() {
+  return auditLogMaxFiles;
+ }
+
+ public int getAuditLogSummarySeconds() {
+  return auditLogSummarySeconds;
+ }
+
+ public int getAuditLogSampleEvery() {
+  return auditLogSampleEvery;
+ }
+
+ public long getSaveQuietPeriodMillis() {
+  return saveQuietPeriodMillis;
+ }
+
+ public boolean isMetricsEnabled() {
+  return metricsEnabled;
+ }
+
+ public int getMetricsDumpSeconds() {
+  return metricsDumpSeconds;
+ }
+
  @NotNull
  public Set<Material> getGloballyBannedMaterials() {
   // Return an unmodifiable set to prevent external modification
-  return Collections.unmodifiableSet(globallyBannedMaterials);
+  return globallyBannedView;
+ }
+
+ /**
+  * Gets the decision table that applies outside of any zone (everything allowed except global bans).
+  *
+  * @return The compiled global ActionTable.
+  */
+ @NotNull
+ public ActionTable getGlobalActionTable() {
+  return globalActionTable;
  }
 
  /**
@@ -119,7 +314,8 @@ public class Settings {
   * @param materials The new set of materials.
   */
  public void setGloballyBannedMaterials(@NotNull Set<Material> materials) {
-  this.globallyBannedMaterials = EnumSet.copyOf(materials); // Create a mutable copy
+  this.globallyBannedMaterials = materials.isEmpty() ? EnumSet.noneOf(Material.class) : EnumSet.copyOf(materials); // Create a mutable copy
+  onGloballyBannedMaterialsChanged();
   saveGloballyBannedMaterials();
  }
 
@@ -131,6 +327,7 @@ public class Settings {
   */
  public boolean addGloballyBannedMaterial(@NotNull Material material) {
   if (globallyBannedMaterials.add(material)) { // Add returns true if the set changed (material was new)
+   onGloballyBannedMaterialsChanged();
    saveGloballyBannedMaterials();
    return true;
   }
@@ -145,12 +342,25 @@ public class Settings {
   */
  public boolean removeGloballyBannedMaterial(@NotNull Material material) {
   if (globallyBannedMaterials.remove(material)) { // Remove returns true if the set changed (material was removed)
+   onGloballyBannedMaterialsChanged();
    saveGloballyBannedMaterials();
    return true;
   }
   return false; // Material was not in the set
  }
 
+ /**
+  * Refreshes everything derived from the ban list: the cached view, the global table,
+  * and every zone's compiled table.
+  */
+ private void onGloballyBannedMaterialsChanged() {
+  this.globallyBannedView = Collections.unmodifiableSet(globallyBannedMaterials);
+  this.globalActionTable = ActionTable.compileGlobal(globallyBannedMaterials);
+  if (plugin.getZoneManager() != null) {
+   plugin.getZoneManager().recompileActionTables();
+  }
+ }
+
  /**
   * Helper method to save the current state of globallyBannedMaterials to config.
   * Converts the EnumSet of Materials to a List of String names for YAML storage.
@@ -160,7 +370,7 @@ public class Settings {
   List<String> bannedNames = globallyBannedMaterials.stream()
           .map(Material::name)
           .collect(Collectors.toList());
-  plugin.getConfig().set("settings.globally-banned-materials", bannedNames);
-  plugin.saveConfig(); // Persist changes to disk
+  // Persisted by the save scheduler, together with any other pending changes
+  plugin.getSaveScheduler().editConfig(config -> config.set("settings.globally-banned-materials", bannedNames));
  }
 }
\ No newline at end of file